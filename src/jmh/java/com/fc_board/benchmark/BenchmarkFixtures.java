@@ -0,0 +1,59 @@
+package com.fc_board.benchmark;
+
+import com.fc_board.model.post.Post;
+import com.fc_board.model.post.PostProjection;
+import com.fc_board.model.user.User;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크 공용 데이터. DB 없이 응답 크기와 비슷한 값을 만든다.
+final class BenchmarkFixtures {
+
+    static final ZonedDateTime NOW = ZonedDateTime.parse("2024-09-20T12:00:00+09:00[Asia/Seoul]");
+
+    private BenchmarkFixtures() {
+    }
+
+    static PostProjection postProjection(long postId) {
+        return new PostProjection(
+                postId,
+                "post body #" + postId + " - Lorem ipsum dolor sit amet, consectetur adipiscing elit.",
+                postId % 50,
+                postId % 1000,
+                NOW.minusMinutes(postId),
+                NOW.minusMinutes(postId),
+                postId % 100,
+                "user" + (postId % 100),
+                "https://avatar.iran.liara.run/public/" + (postId % 100 + 1),
+                "description of user" + (postId % 100),
+                1000L,
+                100L,
+                NOW.minusDays(30),
+                NOW.minusDays(1)
+        );
+    }
+
+    static List<Post> posts(int size) {
+        var posts = new ArrayList<Post>(size);
+        for (long postId = 1; postId <= size; postId++) {
+            posts.add(Post.from(postProjection(postId), postId % 2 == 0));
+        }
+        return posts;
+    }
+
+    static User user(long userId) {
+        return new User(
+                userId,
+                "user" + userId,
+                "https://avatar.iran.liara.run/public/" + (userId % 100 + 1),
+                "description of user" + userId,
+                1000L,
+                100L,
+                NOW.minusDays(30),
+                NOW.minusDays(1),
+                userId % 2 == 0
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package com.fc_board.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 동시 요청 concurrency 개를 처리하는 데 걸리는 시간. 요청 하나는 JDBC 왕복 3번(각 2ms 대기)으로 본다.
+// platform: Tomcat 기본값과 같은 200 스레드 풀, virtual: 요청마다 virtual thread
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutorBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final int BLOCKING_CALLS_PER_REQUEST = 3;
+    private static final long BLOCKING_CALL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"200", "1000", "10000"})
+    private int concurrency;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public void handleRequests() throws Exception {
+        var futures = new ArrayList<Future<?>>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(ExecutorBenchmark::handleRequest));
+        }
+        for (var future : futures) {
+            future.get();
+        }
+    }
+
+    private static void handleRequest() {
+        for (int call = 0; call < BLOCKING_CALLS_PER_REQUEST; call++) {
+            LockSupport.parkNanos(BLOCKING_CALL_NANOS);
+        }
+    }
+}
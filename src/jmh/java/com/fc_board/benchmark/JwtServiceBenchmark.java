@@ -0,0 +1,46 @@
+package com.fc_board.benchmark;
+
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급과 검증. 검증은 캐시 적중/미적중을 따로 잰다.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService cachedJwtService;
+    private JwtService uncachedJwtService;
+    private UserEntity userEntity;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        cachedJwtService = new JwtService(100_000);
+        uncachedJwtService = new JwtService(0);
+        userEntity = UserEntity.of("dereck", "password");
+        accessToken = cachedJwtService.generateAccessToken(userEntity);
+        cachedJwtService.getUsername(accessToken);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return cachedJwtService.generateAccessToken(userEntity);
+    }
+
+    @Benchmark
+    public String getUsernameCached() {
+        return cachedJwtService.getUsername(accessToken);
+    }
+
+    @Benchmark
+    public String getUsernameUncached() {
+        return uncachedJwtService.getUsername(accessToken);
+    }
+}
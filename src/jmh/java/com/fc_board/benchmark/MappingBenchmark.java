@@ -0,0 +1,54 @@
+package com.fc_board.benchmark;
+
+import com.fc_board.model.entity.PostEntity;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.post.Post;
+import com.fc_board.model.post.PostProjection;
+import com.fc_board.model.user.LikedUser;
+import com.fc_board.model.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 엔티티/프로젝션 -> 응답 record 변환 비용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+    private UserEntity userEntity;
+    private PostEntity postEntity;
+    private PostProjection postProjection;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userEntity = UserEntity.of("dereck", "password");
+        postEntity = PostEntity.of("post body - Lorem ipsum dolor sit amet, consectetur adipiscing elit.", userEntity);
+        postProjection = BenchmarkFixtures.postProjection(1L);
+        user = BenchmarkFixtures.user(1L);
+    }
+
+    @Benchmark
+    public Post postFromEntity() {
+        return Post.from(postEntity, true);
+    }
+
+    @Benchmark
+    public Post postFromProjection() {
+        return Post.from(postProjection, true);
+    }
+
+    @Benchmark
+    public User userFromEntity() {
+        return User.from(userEntity, true);
+    }
+
+    @Benchmark
+    public LikedUser likedUserFromUser() {
+        return LikedUser.from(user, 1L, BenchmarkFixtures.NOW);
+    }
+}
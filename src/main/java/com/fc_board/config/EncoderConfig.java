@@ -1,5 +1,6 @@
 package com.fc_board.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,8 +8,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @Configuration
 public class EncoderConfig {
 
+    // strength 를 올리면 기존 해시는 로그인 성공 시 새 cost 로 다시 저장된다. (UserService.authenticate)
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${fc-board.password-encoder.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -1,6 +1,9 @@
 package com.fc_board.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,6 +13,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,10 +29,21 @@ public class WebConfig {
     private final JwtExceptionFilter jwtExceptionFilter;
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                            @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        // 메트릭은 관리 포트로 들어온 스크랩 요청만 인증 없이 허용한다. 공개 포트에서는 일반 요청처럼 인증이 필요하다.
+        RequestMatcher managementPortOnly = request -> request.getLocalPort() == managementPort;
+
         http.cors(Customizer.withDefaults())
                 .authorizeHttpRequests(requests ->
                         requests.requestMatchers(HttpMethod.POST, "/api/*/users", "api/*/users/authenticate")
+                                .permitAll()
+                                .requestMatchers(EndpointRequest.to("health"))
+                                .permitAll()
+                                .requestMatchers(new AndRequestMatcher(EndpointRequest.to("prometheus"), managementPortOnly))
+                                .permitAll()
+                                // SSE / StreamingResponseBody 의 비동기 재디스패치. 최초 요청에서 이미 인증을 거쳤다.
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC)
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated())
@@ -0,0 +1,32 @@
+package com.fc_board.controller;
+
+import com.fc_board.model.bulk.BulkImportResult;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.service.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final BulkImportService bulkImportService;
+
+    // 본문을 @RequestBody 로 한 번에 읽지 않고 스트림 그대로 넘긴다.
+    @PostMapping(value = "/imports", consumes = "application/x-ndjson")
+    public ResponseEntity<BulkImportResult> importRows(InputStream body, Authentication authentication) throws IOException {
+        log.info("POST /api/v1/admin/imports");
+        var result = bulkImportService.importRows(body, (UserEntity) authentication.getPrincipal());
+        return ResponseEntity.ok(result);
+    }
+}
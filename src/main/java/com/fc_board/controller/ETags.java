@@ -0,0 +1,26 @@
+package com.fc_board.controller;
+
+import java.util.List;
+
+// If-None-Match 는 약한 비교(weak comparison)를 한다. W/ 접두어를 떼고 값만 비교
+final class ETags {
+
+    private ETags() {
+    }
+
+    static boolean matches(List<String> ifNoneMatch, String eTag) {
+        for (var header : ifNoneMatch) {
+            for (var candidate : header.split(",")) {
+                var tag = candidate.strip();
+                if (tag.equals("*") || stripWeak(tag).equals(eTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fc_board.controller;
+
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.notification.Notification;
+import com.fc_board.model.page.CursorPage;
+import com.fc_board.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @GetMapping
+    public ResponseEntity<CursorPage<Notification>> getUnreadNotifications(@RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer size,
+                                                                           Authentication authentication) {
+        var notifications = notificationService.getUnreadNotifications(cursor, size, (UserEntity) authentication.getPrincipal());
+        return ResponseEntity.ok(notifications);
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<Void> markAllAsRead(Authentication authentication) {
+        notificationService.markAllAsRead((UserEntity) authentication.getPrincipal());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,17 +1,24 @@
 package com.fc_board.controller;
 
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.page.CursorPage;
 import com.fc_board.model.post.Post;
 import com.fc_board.model.post.PostPatchRequestBody;
 import com.fc_board.model.post.PostRequestBody;
 import com.fc_board.model.user.LikedUser;
+import com.fc_board.service.LiveCountBroadcaster;
 import com.fc_board.service.PostService;
+import com.fc_board.service.TrendingService;
 import com.fc_board.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -24,19 +31,52 @@ public class PostController {
 
     private final PostService postService;
     private final UserService userService;
+    private final LiveCountBroadcaster liveCountBroadcaster;
+    private final TrendingService trendingService;
 
     @GetMapping
-    public ResponseEntity<List<Post>> getPosts(Authentication authentication) {
+    public ResponseEntity<CursorPage<Post>> getPosts(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     Authentication authentication) {
         log.info("GET /api/v1/posts");
-        var posts = postService.getPosts((UserEntity) authentication.getPrincipal());
+        var posts = postService.getPosts(cursor, size, (UserEntity) authentication.getPrincipal());
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping("/timeline")
+    public ResponseEntity<CursorPage<Post>> getTimeline(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size,
+                                                        Authentication authentication) {
+        log.info("GET /api/v1/posts/timeline");
+        var posts = postService.getTimeline(cursor, size, (UserEntity) authentication.getPrincipal());
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<Post>> getTrendingPosts(@RequestParam(required = false) Integer size) {
+        log.info("GET /api/v1/posts/trending");
+        return ResponseEntity.ok(trendingService.getTrendingPosts(size));
+    }
+
+    // 구독한 게시물들의 좋아요 / 댓글 수 변화량을 SSE 로 받는다. (event: counts)
+    @GetMapping(path = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeLiveCounts(@RequestParam List<Long> postIds) {
+        log.info("GET /api/v1/posts/live");
+        return liveCountBroadcaster.subscribe(postIds);
+    }
+
     @GetMapping("/{postId}")
-    public ResponseEntity<Post> getPostByPostId(@PathVariable Long postId, Authentication authentication) {
+    public ResponseEntity<Post> getPostByPostId(@PathVariable Long postId, @RequestHeader HttpHeaders headers, Authentication authentication) {
         log.info("GET /api/v1/posts/{}", postId);
-        var post = postService.getPostByPostId(postId, (UserEntity) authentication.getPrincipal());
-        return ResponseEntity.ok(post);
+        var currentUser = (UserEntity) authentication.getPrincipal();
+
+        var eTag = postService.getPostETag(postId, currentUser);
+        if (ETags.matches(headers.getIfNoneMatch(), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        var post = postService.getPostByPostId(postId, currentUser);
+        return ResponseEntity.ok().eTag(eTag).body(post);
     }
 
     @PostMapping
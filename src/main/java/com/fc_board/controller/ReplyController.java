@@ -1,6 +1,7 @@
 package com.fc_board.controller;
 
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.page.CursorPage;
 import com.fc_board.model.reply.Reply;
 import com.fc_board.model.reply.ReplyPatchRequestBody;
 import com.fc_board.model.reply.ReplyRequestBody;
@@ -11,8 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 
 @Slf4j
 @RestController
@@ -23,8 +22,10 @@ public class ReplyController {
     private final ReplyService replyService;
 
     @GetMapping
-    public ResponseEntity<List<Reply>> getRepliesByPostId(@PathVariable Long postId) {
-        var replies = replyService.getRepliesByPostId(postId);
+    public ResponseEntity<CursorPage<Reply>> getRepliesByPostId(@PathVariable Long postId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size) {
+        var replies = replyService.getRepliesByPostId(postId, cursor, size);
         return ResponseEntity.ok(replies);
     }
 
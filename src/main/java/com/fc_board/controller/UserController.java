@@ -1,28 +1,41 @@
 package com.fc_board.controller;
 
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.page.CursorPage;
 import com.fc_board.model.post.Post;
 import com.fc_board.model.reply.Reply;
 import com.fc_board.model.user.*;
+import com.fc_board.service.ExportService;
 import com.fc_board.service.PostService;
 import com.fc_board.service.ReplyService;
 import com.fc_board.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final String EXPORT_PERMIT_INTERCEPTOR = "exportPermitRelease";
+
     private final UserService userService;
     private final PostService postService;
     private final ReplyService replyService;
+    private final ExportService exportService;
 
     // signUp & authenticate API
     @PostMapping
@@ -45,15 +58,24 @@ public class UserController {
 
     // user API
     @GetMapping
-    public ResponseEntity<List<User>> getUsers(@RequestParam(required = false) String query, Authentication authentication) {
-        var users = userService.getUsers(query, (UserEntity) authentication.getPrincipal());
+    public ResponseEntity<List<User>> getUsers(@RequestParam(required = false) String query,
+                                               @RequestParam(required = false) Integer size,
+                                               Authentication authentication) {
+        var users = userService.getUsers(query, size, (UserEntity) authentication.getPrincipal());
         return ResponseEntity.ok(users);
     }
 
     @GetMapping("/{username}")
-    public ResponseEntity<User> getUser(@PathVariable String username, Authentication authentication) {
-        var user = userService.getUser(username, (UserEntity) authentication.getPrincipal());
-        return ResponseEntity.ok(user);
+    public ResponseEntity<User> getUser(@PathVariable String username, @RequestHeader HttpHeaders headers, Authentication authentication) {
+        var currentUser = (UserEntity) authentication.getPrincipal();
+
+        var eTag = userService.getUserETag(username, currentUser);
+        if (ETags.matches(headers.getIfNoneMatch(), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        var user = userService.getUser(username, currentUser);
+        return ResponseEntity.ok().eTag(eTag).body(user);
     }
 
     @PatchMapping("/{username}")
@@ -94,14 +116,61 @@ public class UserController {
     }
 
     @GetMapping("/{username}/replies")
-    public ResponseEntity<List<Reply>> getRepliesByUser(@PathVariable String username) {
-        var replies = replyService.getRepliesByUser(username);
+    public ResponseEntity<CursorPage<Reply>> getRepliesByUser(@PathVariable String username,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        var replies = replyService.getRepliesByUser(username, cursor, size);
         return ResponseEntity.ok(replies);
     }
 
+    // 본인 게시물/댓글 전체를 NDJSON 으로 내려받는다. 응답은 DB 커서에서 읽는 대로 흘려 보낸다.
+    @GetMapping(value = "/{username}/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUserData(@PathVariable String username,
+                                                                Authentication authentication,
+                                                                HttpServletRequest request) {
+        var userEntity = exportService.getExportableUser(username, (UserEntity) authentication.getPrincipal());
+        var releasePermit = exportService.permitRelease();
+
+        // 본문이 실행되지 않고 끝나도(시작 전 시간 초과, 클라이언트 끊김, 대기 중 취소) 비동기 요청이 끝날 때 자리를 돌려준다.
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_PERMIT_INTERCEPTOR, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                releasePermit.run();
+            }
+        });
+
+        StreamingResponseBody body = out -> {
+            try {
+                exportService.writeUserData(userEntity, out);
+            } finally {
+                releasePermit.run();
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + username + ".ndjson\"")
+                .body(body);
+    }
+
+    @GetMapping("/{username}/suggestions")
+    public ResponseEntity<List<SuggestedUser>> getSuggestedUsers(@PathVariable String username,
+                                                                 @RequestParam(required = false) Integer size,
+                                                                 Authentication authentication) {
+        var suggestedUsers = userService.getSuggestedUsers(username, size, (UserEntity) authentication.getPrincipal());
+        return ResponseEntity.ok(suggestedUsers);
+    }
+
+    @GetMapping("/{username}/relationship")
+    public ResponseEntity<FollowRelationship> getFollowRelationship(@PathVariable String username, Authentication authentication) {
+        var relationship = userService.getFollowRelationship(username, (UserEntity) authentication.getPrincipal());
+        return ResponseEntity.ok(relationship);
+    }
+
     @GetMapping("/{username}/liked-users")
-    public ResponseEntity<List<LikedUser>> getLikedUsersByUser(@PathVariable String username, Authentication authentication) {
-        var likedUsers = userService.getLikedUsersByUser(username, (UserEntity) authentication.getPrincipal());
+    public ResponseEntity<CursorPage<LikedUser>> getLikedUsersByUser(@PathVariable String username,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size,
+                                                                     Authentication authentication) {
+        var likedUsers = userService.getLikedUsersByUser(username, cursor, size, (UserEntity) authentication.getPrincipal());
         return ResponseEntity.ok(likedUsers);
     }
 
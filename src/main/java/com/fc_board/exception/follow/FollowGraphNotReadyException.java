@@ -0,0 +1,11 @@
+package com.fc_board.exception.follow;
+
+import com.fc_board.exception.ClientErrorException;
+import org.springframework.http.HttpStatus;
+
+public class FollowGraphNotReadyException extends ClientErrorException {
+
+    public FollowGraphNotReadyException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Suggestions are not available yet. Please try again later.");
+    }
+}
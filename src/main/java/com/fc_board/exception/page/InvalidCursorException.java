@@ -0,0 +1,15 @@
+package com.fc_board.exception.page;
+
+import com.fc_board.exception.ClientErrorException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends ClientErrorException {
+
+    public InvalidCursorException() {
+        super(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+    }
+
+    public InvalidCursorException(String cursor) {
+        super(HttpStatus.BAD_REQUEST, "Cursor=" + cursor + " is invalid");
+    }
+}
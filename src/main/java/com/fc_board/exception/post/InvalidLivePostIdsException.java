@@ -0,0 +1,11 @@
+package com.fc_board.exception.post;
+
+import com.fc_board.exception.ClientErrorException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidLivePostIdsException extends ClientErrorException {
+
+    public InvalidLivePostIdsException(int maxPostIds) {
+        super(HttpStatus.BAD_REQUEST, "postIds must contain between 1 and " + maxPostIds + " ids");
+    }
+}
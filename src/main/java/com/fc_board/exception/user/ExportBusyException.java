@@ -0,0 +1,11 @@
+package com.fc_board.exception.user;
+
+import com.fc_board.exception.ClientErrorException;
+import org.springframework.http.HttpStatus;
+
+public class ExportBusyException extends ClientErrorException {
+
+    public ExportBusyException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress. Please try again later.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.fc_board.exception.user;
+
+import com.fc_board.exception.ClientErrorException;
+import org.springframework.http.HttpStatus;
+
+public class PasswordHasherBusyException extends ClientErrorException {
+
+    public PasswordHasherBusyException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests. Please try again later.");
+    }
+}
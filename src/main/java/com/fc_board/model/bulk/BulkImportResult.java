@@ -0,0 +1,16 @@
+package com.fc_board.model.bulk;
+
+import java.util.List;
+
+// errors 는 앞에서부터 일부만 담는다. 전체 건수는 skipped
+// lastCommittedLine 이 lines 보다 작으면 그 다음 batch 가 실패해 중단된 것이다. lastCommittedLine + 1 번째 줄부터 다시 보내면 된다.
+public record BulkImportResult(
+        long lines,
+        long lastCommittedLine,
+        long posts,
+        long follows,
+        long likes,
+        long skipped,
+        List<String> errors
+) {
+}
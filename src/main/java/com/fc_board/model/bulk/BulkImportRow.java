@@ -0,0 +1,21 @@
+package com.fc_board.model.bulk;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// NDJSON 한 줄. type 에 따라 쓰는 필드가 다르다.
+// post   : {"type":"post","username":"dereck","body":"hello","ref":"p-1"}
+// follow : {"type":"follow","follower":"dereck","following":"jun"}
+// like   : {"type":"like","username":"jun","postId":42} 또는 {"type":"like","username":"jun","postRef":"p-1"}
+// ref 는 같은 import 안에서 새로 만든 게시물을 like 에서 가리키기 위한 이름이다.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BulkImportRow(
+        String type,
+        String username,
+        String body,
+        String ref,
+        String follower,
+        String following,
+        Long postId,
+        String postRef
+) {
+}
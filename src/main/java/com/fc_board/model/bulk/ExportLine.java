@@ -0,0 +1,18 @@
+package com.fc_board.model.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fc_board.model.post.Post;
+import com.fc_board.model.reply.Reply;
+
+// NDJSON 내보내기 한 줄. type 에 맞는 필드 하나만 채워진다.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExportLine(String type, Post post, Reply reply) {
+
+    public static ExportLine of(Post post) {
+        return new ExportLine("post", post, null);
+    }
+
+    public static ExportLine of(Reply reply) {
+        return new ExportLine("reply", null, reply);
+    }
+}
@@ -0,0 +1,5 @@
+package com.fc_board.model.bulk;
+
+// (follower, following) 또는 (user, post) 처럼 유니크 인덱스가 걸린 id 쌍. 중복 행을 insert 전에 걸러낼 때 쓴다.
+public record IdPair(Long left, Long right) {
+}
@@ -14,12 +14,14 @@ import java.time.ZonedDateTime;
 @Table(
         name = "\"follow\"", indexes = {
         @Index(name = "follow_follower_following_idx", columnList = "follower, following", unique = true),
+        @Index(name = "follow_following_idx", columnList = "following"),
 })
 @EqualsAndHashCode
 public class FollowEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "follow_id_seq")
+    @SequenceGenerator(name = "follow_id_seq", sequenceName = "follow_id_seq", allocationSize = 50)
     @Column(name = "follow_id")
     private Long id;
 
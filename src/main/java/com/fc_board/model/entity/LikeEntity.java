@@ -14,12 +14,19 @@ import java.time.ZonedDateTime;
 @Table(
         name = "\"like\"", indexes = {
         @Index(name = "like_user_id_post_id_idx", columnList = "user_id, post_id", unique = true),
+        // post_id 조회와 작성자별 좋아요 목록(created_date_time, like_id 순) 페이지 조회에 같이 쓴다.
+        @Index(name = "like_post_id_created_date_time_like_id_idx", columnList = "post_id, created_date_time, like_id"),
+        // 작성자별 좋아요 목록을 post 를 거치지 않고 바로 최신순으로 읽는다.
+        @Index(name = "like_post_author_id_created_date_time_like_id_idx", columnList = "post_author_id, created_date_time, like_id"),
+        // 재시작 후 인기 게시물 점수를 최근 좋아요로 다시 쌓을 때 범위 스캔으로 읽는다. (TrendingService.rebuild)
+        @Index(name = "like_created_date_time_idx", columnList = "created_date_time"),
 })
 @EqualsAndHashCode
 public class LikeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "like_id_seq")
+    @SequenceGenerator(name = "like_id_seq", sequenceName = "like_id_seq", allocationSize = 50)
     @Column(name = "like_id")
     private Long id;
 
@@ -34,10 +41,20 @@ public class LikeEntity {
     @JoinColumn(name = "post_id")
     private PostEntity post;
 
+    // 게시물 작성자 id 를 복사해 둔다. 게시물의 작성자는 바뀌지 않는다. LikeEntity.of 가 항상 채운다.
+    @Column(name = "post_author_id", nullable = false, updatable = false)
+    private Long postAuthorId;
+
     public static LikeEntity of(UserEntity user, PostEntity post) {
+        return of(user, post, post.getUser().getId());
+    }
+
+    // post 가 프록시(getReference)일 때 작성자를 읽으려고 게시물을 초기화하지 않도록 작성자 id 를 따로 받는다.
+    public static LikeEntity of(UserEntity user, PostEntity post, Long postAuthorId) {
         LikeEntity likeEntity = new LikeEntity();
         likeEntity.setUser(user);
         likeEntity.setPost(post);
+        likeEntity.setPostAuthorId(postAuthorId);
         return likeEntity;
     }
 
@@ -0,0 +1,41 @@
+package com.fc_board.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+// 읽지 않은 알림에 이미 세어진 사용자. 같은 사용자가 좋아요를 취소했다가 다시 눌러도 actorCount 가 늘지 않도록 한다.
+// 알림을 읽으면 더 묶이지 않으므로 지운다. (NotificationService.markAllAsRead)
+@Entity
+@Getter
+@Setter(value = AccessLevel.PRIVATE)
+@Table(
+        name = "notification_actor", indexes = {
+        @Index(name = "notification_actor_notification_id_actor_id_idx", columnList = "notification_id, actor_id", unique = true),
+})
+@EqualsAndHashCode
+public class NotificationActorEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_actor_id_seq")
+    @SequenceGenerator(name = "notification_actor_id_seq", sequenceName = "notification_actor_id_seq", allocationSize = 50)
+    @Column(name = "notification_actor_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "notification_id", nullable = false)
+    private NotificationEntity notification;
+
+    // 사용자는 보관 작업으로 옮겨질 수 있으므로 FK 없이 id 만 남긴다.
+    @Column(name = "actor_id", nullable = false, updatable = false)
+    private Long actorId;
+
+    public static NotificationActorEntity of(NotificationEntity notification, Long actorId) {
+        var notificationActorEntity = new NotificationActorEntity();
+        notificationActorEntity.setNotification(notification);
+        notificationActorEntity.setActorId(actorId);
+        return notificationActorEntity;
+    }
+}
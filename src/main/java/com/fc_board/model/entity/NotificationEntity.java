@@ -0,0 +1,82 @@
+package com.fc_board.model.entity;
+
+import com.fc_board.model.notification.NotificationType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+// 읽지 않은 알림 조회 / 묶음 대상 조회용 인덱스는 schema-postgresql.sql 의 부분 인덱스(read_date_time is null)를 쓴다.
+@Entity
+@Getter
+@Setter(value = AccessLevel.PRIVATE)
+@Table(name = "notification")
+@EqualsAndHashCode
+public class NotificationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_id_seq")
+    @SequenceGenerator(name = "notification_id_seq", sequenceName = "notification_id_seq", allocationSize = 50)
+    @Column(name = "notification_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private NotificationType type;
+
+    // 게시물은 보관 작업으로 옮겨질 수 있으므로 FK 없이 id 만 남긴다.
+    @Column(updatable = false)
+    private Long postId;
+
+    @Column(nullable = false, updatable = false)
+    private String groupKey;
+
+    // 가장 최근에 알림을 만든 사용자
+    @Column(nullable = false)
+    private String actorUsername;
+
+    // 알림을 만든 서로 다른 사용자 수 (NotificationActorEntity 로 중복을 거른다)
+    @Column(nullable = false)
+    private Long actorCount = 0L;
+
+    @Column(nullable = false, updatable = false)
+    private ZonedDateTime createdDateTime;
+
+    @Column(nullable = false)
+    private ZonedDateTime updatedDateTime;
+
+    @Column
+    private ZonedDateTime readDateTime;
+
+    public static NotificationEntity of(UserEntity user, NotificationType type, Long postId) {
+        var notificationEntity = new NotificationEntity();
+        notificationEntity.setUser(user);
+        notificationEntity.setType(type);
+        notificationEntity.setPostId(postId);
+        notificationEntity.setGroupKey(type.groupKey(postId));
+        return notificationEntity;
+    }
+
+    public void addActors(long count, String latestActorUsername) {
+        this.actorCount += count;
+        this.actorUsername = latestActorUsername;
+    }
+
+    @PrePersist
+    private void prePersist() {
+        this.createdDateTime = ZonedDateTime.now();
+        this.updatedDateTime = this.createdDateTime;
+    }
+
+    @PreUpdate
+    private void preUpdate() {
+        this.updatedDateTime = ZonedDateTime.now();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fc_board.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+// 카운터 정합성 보정 작업의 진행 위치. 작업이 중간에 멈춰도 마지막으로 처리한 id 다음부터 이어서 진행한다.
+@Entity
+@Getter
+@Setter(AccessLevel.PRIVATE)
+@Table(name = "reconciliation_checkpoint")
+@EqualsAndHashCode
+public class ReconciliationCheckpointEntity {
+
+    @Id
+    @Column(name = "counter_name")
+    private String counterName;
+
+    @Column(nullable = false)
+    @Setter(AccessLevel.PUBLIC)
+    private Long lastId;
+
+    @Column
+    private ZonedDateTime updatedDateTime;
+
+    public static ReconciliationCheckpointEntity of(String counterName) {
+        var checkpoint = new ReconciliationCheckpointEntity();
+        checkpoint.setCounterName(counterName);
+        checkpoint.setLastId(0L);
+        return checkpoint;
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void touch() {
+        this.updatedDateTime = ZonedDateTime.now();
+    }
+}
@@ -13,12 +13,10 @@ import java.time.ZonedDateTime;
 @Entity
 @Getter
 @Setter(AccessLevel.PRIVATE)
-@SQLDelete(sql = "update reply set deleted_date_time = current_timestamp where post_id = ?")
+@SQLDelete(sql = "update reply set deleted_date_time = current_timestamp where reply_id = ?")
 @SQLRestriction("deleted_date_time is null")
-@Table(name = "reply", indexes = {
-        @Index(name = "reply_user_id_idx", columnList = "user_id"),
-        @Index(name = "reply_post_id_idx", columnList = "post_id")
-})
+// 조회용 인덱스는 삭제되지 않은 행만 담는 부분 인덱스로 schema-postgresql.sql 에 있다.
+@Table(name = "reply")
 @EqualsAndHashCode
 public class ReplyEntity {
 
@@ -33,6 +33,7 @@ public class UserEntity implements UserDetails {
     private String username;
 
     @Column(nullable = false)
+    @Setter(AccessLevel.PUBLIC)
     private String password;
 
     @Column
@@ -0,0 +1,9 @@
+package com.fc_board.model.event;
+
+// 팔로우(followed = true) / 언팔로우(false) 가 커밋된 뒤 발행된다.
+public record FollowEvent(Long followerId, String followerUsername, Long followingId, boolean followed) {
+
+    public static FollowEvent of(Long followerId, String followerUsername, Long followingId, boolean followed) {
+        return new FollowEvent(followerId, followerUsername, followingId, followed);
+    }
+}
@@ -0,0 +1,12 @@
+package com.fc_board.model.event;
+
+import java.time.ZonedDateTime;
+
+// 좋아요(delta = 1) / 취소(-1). postAuthorId 는 알림 수신자를 찾기 위해 같이 싣는다.
+// likedDateTime 은 좋아요가 만들어진 시각이다. 취소 이벤트에도 원래 시각을 실어 인기 점수에서 같은 만큼을 뺄 수 있게 한다.
+public record LikeEvent(Long postId, Long postAuthorId, Long userId, String username, long delta, ZonedDateTime likedDateTime) {
+
+    public static LikeEvent of(Long postId, Long postAuthorId, Long userId, String username, long delta, ZonedDateTime likedDateTime) {
+        return new LikeEvent(postId, postAuthorId, userId, username, delta, likedDateTime);
+    }
+}
@@ -0,0 +1,11 @@
+package com.fc_board.model.event;
+
+import java.time.ZonedDateTime;
+
+// 댓글 작성(delta = 1) / 삭제(-1). repliedDateTime 은 삭제 이벤트에서도 댓글이 작성된 시각이다.
+public record ReplyEvent(Long replyId, Long postId, Long postAuthorId, Long userId, String username, long delta, ZonedDateTime repliedDateTime) {
+
+    public static ReplyEvent of(Long replyId, Long postId, Long postAuthorId, Long userId, String username, long delta, ZonedDateTime repliedDateTime) {
+        return new ReplyEvent(replyId, postId, postAuthorId, userId, username, delta, repliedDateTime);
+    }
+}
@@ -0,0 +1,27 @@
+package com.fc_board.model.notification;
+
+import com.fc_board.model.entity.NotificationEntity;
+
+import java.time.ZonedDateTime;
+
+public record Notification(Long notificationId,
+                           NotificationType type,
+                           Long postId,
+                           String actorUsername,
+                           Long actorCount,
+                           ZonedDateTime createdDateTime,
+                           ZonedDateTime updatedDateTime
+) {
+
+    public static Notification from(NotificationEntity notificationEntity) {
+        return new Notification(
+                notificationEntity.getId(),
+                notificationEntity.getType(),
+                notificationEntity.getPostId(),
+                notificationEntity.getActorUsername(),
+                notificationEntity.getActorCount(),
+                notificationEntity.getCreatedDateTime(),
+                notificationEntity.getUpdatedDateTime()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.fc_board.model.notification;
+
+public enum NotificationType {
+    FOLLOW,
+    LIKE,
+    REPLY;
+
+    // 읽지 않은 알림 중 같은 groupKey 를 가진 것은 하나로 합쳐진다. ("N명이 게시물을 좋아합니다")
+    public String groupKey(Long postId) {
+        return postId == null ? name() : name() + ":" + postId;
+    }
+}
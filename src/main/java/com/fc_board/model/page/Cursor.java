@@ -0,0 +1,39 @@
+package com.fc_board.model.page;
+
+import com.fc_board.exception.page.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+// (createdDateTime, id) 키셋 위치. 클라이언트에는 base64url 문자열로만 노출한다.
+public record Cursor(ZonedDateTime createdDateTime, Long id) {
+
+    public static Cursor of(ZonedDateTime createdDateTime, Long id) {
+        return new Cursor(createdDateTime, id);
+    }
+
+    public String encode() {
+        var instant = createdDateTime.toInstant();
+        var raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException(cursor);
+            }
+
+            var instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new Cursor(instant.atZone(ZoneOffset.UTC), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -45,4 +45,41 @@ public record Post(
                 isLiking
         );
     }
+
+    // 다른 응답 안에서 게시물을 id 로만 가리킬 때 (null 필드는 직렬화되지 않는다)
+    public static Post ofId(Long postId) {
+        return new Post(postId, null, null, null, null, null, null, null, null);
+    }
+
+    public Post withLikesCount(Long likesCount) {
+        return new Post(postId, body, repliesCount, likesCount, user, createdDateTime, updatedDateTime, deletedDateTime, isLiking);
+    }
+
+    public static Post from(PostProjection projection) {
+        return from(projection, null);
+    }
+
+    public static Post from(PostProjection projection, Boolean isLiking) {
+        return new Post(
+                projection.postId(),
+                projection.body(),
+                projection.repliesCount(),
+                projection.likesCount(),
+                new User(
+                        projection.userId(),
+                        projection.username(),
+                        projection.profile(),
+                        projection.description(),
+                        projection.followersCount(),
+                        projection.followingsCount(),
+                        projection.userCreatedDateTime(),
+                        projection.userUpdatedDateTime(),
+                        null
+                ),
+                projection.createdDateTime(),
+                projection.updatedDateTime(),
+                null,
+                isLiking
+        );
+    }
 }
@@ -0,0 +1,7 @@
+package com.fc_board.model.post;
+
+import java.time.ZonedDateTime;
+
+// 인기 게시물 점수를 다시 계산할 때 읽는 좋아요 / 댓글 행의 (게시물, 시각)
+public record PostActivity(Long postId, ZonedDateTime createdDateTime) {
+}
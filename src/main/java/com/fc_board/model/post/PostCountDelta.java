@@ -0,0 +1,21 @@
+package com.fc_board.model.post;
+
+// 한 구간(window) 동안 모인 게시물 카운터 변화량
+public record PostCountDelta(Long postId, long likesDelta, long repliesDelta) {
+
+    public static PostCountDelta ofLikes(Long postId, long delta) {
+        return new PostCountDelta(postId, delta, 0L);
+    }
+
+    public static PostCountDelta ofReplies(Long postId, long delta) {
+        return new PostCountDelta(postId, 0L, delta);
+    }
+
+    public PostCountDelta plus(PostCountDelta other) {
+        return new PostCountDelta(postId, likesDelta + other.likesDelta, repliesDelta + other.repliesDelta);
+    }
+
+    public boolean isZero() {
+        return likesDelta == 0 && repliesDelta == 0;
+    }
+}
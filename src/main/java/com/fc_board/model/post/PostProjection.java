@@ -0,0 +1,22 @@
+package com.fc_board.model.post;
+
+import java.time.ZonedDateTime;
+
+// 목록 조회용 읽기 전용 프로젝션. post 와 작성자(user) 를 한 번의 join 으로, Post/User 레코드에 필요한 컬럼만 조회한다.
+public record PostProjection(
+        Long postId,
+        String body,
+        Long repliesCount,
+        Long likesCount,
+        ZonedDateTime createdDateTime,
+        ZonedDateTime updatedDateTime,
+        Long userId,
+        String username,
+        String profile,
+        String description,
+        Long followersCount,
+        Long followingsCount,
+        ZonedDateTime userCreatedDateTime,
+        ZonedDateTime userUpdatedDateTime
+) {
+}
@@ -0,0 +1,27 @@
+package com.fc_board.model.post;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+
+// 조건부 GET(If-None-Match) 확인용. Post 응답을 만드는 데 쓰이는 값 중 바뀔 수 있는 컬럼만 읽는다.
+public record PostVersion(
+        Long postId,
+        ZonedDateTime updatedDateTime,
+        Long likesCount,
+        Long repliesCount,
+        ZonedDateTime userUpdatedDateTime,
+        // 작성자의 팔로우 수는 CounterRepository 가 SQL 로 바꾸고 updated_date_time 은 건드리지 않으므로 따로 읽는다.
+        Long userFollowersCount,
+        Long userFollowingsCount
+) {
+
+    // 좋아요 수는 아직 flush 되지 않은 변화량까지 반영된 값을, isLiking 은 현재 사용자 기준 값을 받는다.
+    public String eTag(long likesCount, boolean isLiking) {
+        var source = postId + ":" + updatedDateTime.toInstant() + ":" + likesCount + ":" + repliesCount
+                + ":" + userUpdatedDateTime.toInstant() + ":" + userFollowersCount + ":" + userFollowingsCount
+                + ":" + isLiking;
+        return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
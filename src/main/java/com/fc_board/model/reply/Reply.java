@@ -28,4 +28,26 @@ public record Reply(
                 entity.getDeletedDateTime()
         );
     }
+
+    public static Reply from(ReplyProjection projection, Post post) {
+        return new Reply(
+                projection.replyId(),
+                projection.body(),
+                new User(
+                        projection.userId(),
+                        projection.username(),
+                        projection.profile(),
+                        projection.description(),
+                        projection.followersCount(),
+                        projection.followingsCount(),
+                        projection.userCreatedDateTime(),
+                        projection.userUpdatedDateTime(),
+                        null
+                ),
+                post,
+                projection.createdDateTime(),
+                projection.updatedDateTime(),
+                null
+        );
+    }
 }
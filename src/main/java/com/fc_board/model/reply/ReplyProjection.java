@@ -0,0 +1,21 @@
+package com.fc_board.model.reply;
+
+import java.time.ZonedDateTime;
+
+// 목록 조회용 읽기 전용 프로젝션. reply 와 작성자(user) 를 한 번의 join 으로 조회하고, post 는 postId 로 따로 묶어서 붙인다.
+public record ReplyProjection(
+        Long replyId,
+        String body,
+        ZonedDateTime createdDateTime,
+        ZonedDateTime updatedDateTime,
+        Long postId,
+        Long userId,
+        String username,
+        String profile,
+        String description,
+        Long followersCount,
+        Long followingsCount,
+        ZonedDateTime userCreatedDateTime,
+        ZonedDateTime userUpdatedDateTime
+) {
+}
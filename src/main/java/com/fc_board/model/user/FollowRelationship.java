@@ -0,0 +1,9 @@
+package com.fc_board.model.user;
+
+// 현재 사용자와 username 사이의 팔로우 관계. 서로 팔로우하면 isMutual
+public record FollowRelationship(String username, Boolean isFollowing, Boolean isFollowedBy, Boolean isMutual) {
+
+    public static FollowRelationship of(String username, boolean isFollowing, boolean isFollowedBy) {
+        return new FollowRelationship(username, isFollowing, isFollowedBy, isFollowing && isFollowedBy);
+    }
+}
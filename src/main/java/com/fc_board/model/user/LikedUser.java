@@ -17,6 +17,22 @@ public record LikedUser(Long userId,
                         ZonedDateTime likedDateTime
 ) {
 
+    public static LikedUser from(LikedUserProjection projection, boolean isFollowing) {
+        return new LikedUser(
+                projection.userId(),
+                projection.username(),
+                projection.profile(),
+                projection.description(),
+                projection.followersCount(),
+                projection.followingsCount(),
+                projection.createdDateTime(),
+                projection.updatedDateTime(),
+                isFollowing,
+                projection.likedPostId(),
+                projection.likedDateTime()
+        );
+    }
+
     public static LikedUser from(User user, Long likedPostId, ZonedDateTime likedDateTime) {
         return new LikedUser(
                 user.userId(),
@@ -0,0 +1,19 @@
+package com.fc_board.model.user;
+
+import java.time.ZonedDateTime;
+
+// like ⨝ post ⨝ user 를 한 번에 읽는 읽기 전용 프로젝션. likeId 는 페이지 커서에 쓴다.
+public record LikedUserProjection(
+        Long likeId,
+        Long likedPostId,
+        ZonedDateTime likedDateTime,
+        Long userId,
+        String username,
+        String profile,
+        String description,
+        Long followersCount,
+        Long followingsCount,
+        ZonedDateTime createdDateTime,
+        ZonedDateTime updatedDateTime
+) {
+}
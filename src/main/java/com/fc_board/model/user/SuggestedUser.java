@@ -0,0 +1,31 @@
+package com.fc_board.model.user;
+
+import java.time.ZonedDateTime;
+
+public record SuggestedUser(Long userId,
+                            String username,
+                            String profile,
+                            String description,
+                            Long followersCount,
+                            Long followingsCount,
+                            ZonedDateTime createdDateTime,
+                            ZonedDateTime updatedDateTime,
+                            Boolean isFollowing,
+                            Integer mutualCount
+) {
+
+    public static SuggestedUser from(User user, int mutualCount) {
+        return new SuggestedUser(
+                user.userId(),
+                user.username(),
+                user.profile(),
+                user.description(),
+                user.followersCount(),
+                user.followingsCount(),
+                user.createdDateTime(),
+                user.updatedDateTime(),
+                user.isFollowing(),
+                mutualCount
+        );
+    }
+}
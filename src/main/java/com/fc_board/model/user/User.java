@@ -42,4 +42,8 @@ public record User(Long userId,
                 isFollowing
         );
     }
+
+    public User withFollowersCount(Long followersCount) {
+        return new User(userId, username, profile, description, followersCount, followingsCount, createdDateTime, updatedDateTime, isFollowing);
+    }
 }
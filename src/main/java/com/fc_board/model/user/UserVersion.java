@@ -0,0 +1,21 @@
+package com.fc_board.model.user;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+
+// 조건부 GET(If-None-Match) 확인용. User 응답을 만드는 데 쓰이는 값 중 바뀔 수 있는 컬럼만 읽는다.
+public record UserVersion(
+        Long userId,
+        ZonedDateTime updatedDateTime,
+        Long followersCount,
+        Long followingsCount
+) {
+
+    public String eTag(boolean isFollowing) {
+        var source = userId + ":" + updatedDateTime.toInstant() + ":" + followersCount + ":" + followingsCount
+                + ":" + isFollowing;
+        return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,4 @@
+package com.fc_board.model.user;
+
+public record UsernameProjection(Long userId, String username) {
+}
@@ -0,0 +1,107 @@
+package com.fc_board.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 오래전에 soft delete 된 행을 보관 테이블(*_archive, schema-postgresql.sql)로 옮긴다.
+// 한 문장 안에서 delete ... returning 결과를 그대로 insert 하므로 옮기는 도중에 행이 사라지거나 중복되지 않는다.
+// skip locked 로 다른 트랜잭션이 잡고 있는 행은 다음 실행으로 미룬다.
+@Repository
+@RequiredArgsConstructor
+public class ArchiveRepository {
+
+    // 보관 테이블은 원본과 컬럼 순서가 다를 수 있으므로(나중에 추가된 컬럼은 맨 뒤에 붙는다) select * 대신 컬럼 이름으로 옮긴다.
+    // 엔티티에 컬럼을 추가하면 여기에도 추가해야 한다.
+    private static final List<String> POST_COLUMNS = List.of(
+            "post_id", "body", "replies_count", "likes_count", "created_date_time", "updated_date_time", "deleted_date_time", "user_id");
+    private static final List<String> REPLY_COLUMNS = List.of(
+            "reply_id", "body", "created_date_time", "updated_date_time", "deleted_date_time", "user_id", "post_id");
+    private static final List<String> LIKE_COLUMNS = List.of(
+            "like_id", "created_date_time", "user_id", "post_id", "post_author_id");
+    private static final List<String> USER_COLUMNS = List.of(
+            "user_id", "username", "password", "profile", "description", "followers_count", "followings_count",
+            "created_date_time", "updated_date_time", "deleted_date_time");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 게시물과 함께 그 게시물의 댓글, 좋아요도 옮긴다. FK 는 문장 끝에서 확인되므로 순서 문제는 없다.
+    public int archivePosts(Instant deletedBefore, int batchSize) {
+        return jdbcTemplate.update("""
+                with target as (
+                    select post_id from post
+                    where deleted_date_time < ?
+                    order by post_id
+                    limit ?
+                    for update skip locked
+                ), moved_replies as (
+                    delete from reply r using target t where r.post_id = t.post_id returning %s
+                ), archived_replies as (
+                    insert into reply_archive (%s) select %s from moved_replies
+                ), moved_likes as (
+                    delete from "like" l using target t where l.post_id = t.post_id returning %s
+                ), archived_likes as (
+                    insert into like_archive (%s) select %s from moved_likes
+                ), moved_posts as (
+                    delete from post p using target t where p.post_id = t.post_id returning %s
+                )
+                insert into post_archive (%s) select %s from moved_posts
+                """.formatted(
+                columns("r", REPLY_COLUMNS), columns(REPLY_COLUMNS), columns(REPLY_COLUMNS),
+                columns("l", LIKE_COLUMNS), columns(LIKE_COLUMNS), columns(LIKE_COLUMNS),
+                columns("p", POST_COLUMNS), columns(POST_COLUMNS), columns(POST_COLUMNS)
+        ), Timestamp.from(deletedBefore), batchSize);
+    }
+
+    // 살아 있는 게시물에 달렸다가 삭제된 댓글
+    public int archiveReplies(Instant deletedBefore, int batchSize) {
+        return jdbcTemplate.update("""
+                with target as (
+                    select reply_id from reply
+                    where deleted_date_time < ?
+                    order by reply_id
+                    limit ?
+                    for update skip locked
+                ), moved as (
+                    delete from reply r using target t where r.reply_id = t.reply_id returning %s
+                )
+                insert into reply_archive (%s) select %s from moved
+                """.formatted(columns("r", REPLY_COLUMNS), columns(REPLY_COLUMNS), columns(REPLY_COLUMNS)),
+                Timestamp.from(deletedBefore), batchSize);
+    }
+
+    // 아직 어떤 행에서도 참조되지 않는 사용자만 옮긴다.
+    public int archiveUsers(Instant deletedBefore, int batchSize) {
+        return jdbcTemplate.update("""
+                with target as (
+                    select u.user_id from "user" u
+                    where u.deleted_date_time < ?
+                      and not exists (select 1 from post p where p.user_id = u.user_id)
+                      and not exists (select 1 from reply r where r.user_id = u.user_id)
+                      and not exists (select 1 from "like" l where l.user_id = u.user_id)
+                      and not exists (select 1 from "follow" f where f.follower = u.user_id or f.following = u.user_id)
+                      and not exists (select 1 from notification n where n.user_id = u.user_id)
+                    order by u.user_id
+                    limit ?
+                    for update skip locked
+                ), moved as (
+                    delete from "user" u using target t where u.user_id = t.user_id returning %s
+                )
+                insert into user_archive (%s) select %s from moved
+                """.formatted(columns("u", USER_COLUMNS), columns(USER_COLUMNS), columns(USER_COLUMNS)),
+                Timestamp.from(deletedBefore), batchSize);
+    }
+
+    private static String columns(List<String> names) {
+        return String.join(", ", names);
+    }
+
+    private static String columns(String alias, List<String> names) {
+        return names.stream().map(name -> alias + "." + name).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,106 @@
+package com.fc_board.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.SortedMap;
+
+// 비정규화된 카운터 컬럼을 엔티티 전체 저장 없이 "count = count + ?" 형태의 JDBC batch 로 갱신
+@Repository
+@RequiredArgsConstructor
+public class CounterRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // postId 순으로 정렬된 맵을 받아 항상 같은 순서로 행 잠금을 잡도록 한다.
+    @Transactional
+    public void addLikesCounts(SortedMap<Long, Long> deltas) {
+        jdbcTemplate.batchUpdate(
+                "update post set likes_count = likes_count + ? where post_id = ?",
+                deltas.entrySet(),
+                BATCH_SIZE,
+                (ps, delta) -> {
+                    ps.setLong(1, delta.getValue());
+                    ps.setLong(2, delta.getKey());
+                });
+    }
+
+    // 팔로워/팔로잉 수를 한 문장으로 갱신. userId 순으로 정렬된 맵을 받는다. 언팔로우로 음수가 되지 않게 0 에서 멈춘다.
+    @Transactional
+    public void addFollowCounts(SortedMap<Long, FollowCountDelta> deltas) {
+        jdbcTemplate.batchUpdate(
+                "update \"user\" set followers_count = greatest(followers_count + ?, 0), followings_count = greatest(followings_count + ?, 0) where user_id = ?",
+                deltas.entrySet(),
+                BATCH_SIZE,
+                (ps, delta) -> {
+                    ps.setLong(1, delta.getValue().followers());
+                    ps.setLong(2, delta.getValue().followings());
+                    ps.setLong(3, delta.getKey());
+                });
+    }
+
+    public record FollowCountDelta(long followers, long followings) {
+
+        public FollowCountDelta plus(FollowCountDelta other) {
+            return new FollowCountDelta(followers + other.followers, followings + other.followings);
+        }
+    }
+
+    // 보정 작업용 청크 경계. afterId 다음부터 chunkSize 개의 id 중 가장 큰 값 (더 없으면 null)
+    public Long findPostIdBoundary(long afterId, int chunkSize) {
+        return jdbcTemplate.queryForObject(
+                "select max(post_id) from (select post_id from post where post_id > ? order by post_id limit ?) chunk",
+                Long.class, afterId, chunkSize);
+    }
+
+    public Long findUserIdBoundary(long afterId, int chunkSize) {
+        return jdbcTemplate.queryForObject(
+                "select max(user_id) from (select user_id from \"user\" where user_id > ? order by user_id limit ?) chunk",
+                Long.class, afterId, chunkSize);
+    }
+
+    // (fromId, toId] 범위의 게시물 likes_count 를 "like" 테이블로부터 다시 계산하고, 값이 달랐던 행 수를 반환
+    public int reconcileLikesCounts(long fromId, long toId) {
+        return jdbcTemplate.update("""
+                update post p set likes_count = c.cnt
+                from (select p2.post_id, count(l.like_id) as cnt
+                      from post p2 left join "like" l on l.post_id = p2.post_id
+                      where p2.post_id > ? and p2.post_id <= ?
+                      group by p2.post_id) c
+                where p.post_id = c.post_id and p.likes_count is distinct from c.cnt
+                """, fromId, toId);
+    }
+
+    // 삭제되지 않은 댓글만 센다.
+    public int reconcileRepliesCounts(long fromId, long toId) {
+        return jdbcTemplate.update("""
+                update post p set replies_count = c.cnt
+                from (select p2.post_id, count(r.reply_id) as cnt
+                      from post p2 left join reply r on r.post_id = p2.post_id and r.deleted_date_time is null
+                      where p2.post_id > ? and p2.post_id <= ?
+                      group by p2.post_id) c
+                where p.post_id = c.post_id and p.replies_count is distinct from c.cnt
+                """, fromId, toId);
+    }
+
+    // followers_count 는 나를 following 하는 행, followings_count 는 내가 follower 인 행의 수
+    // 값이 바뀐 사용자의 username 을 돌려준다. (캐시된 principal 을 비우기 위함)
+    public List<String> reconcileFollowCounts(long fromId, long toId) {
+        return jdbcTemplate.queryForList("""
+                update "user" u set followers_count = c.followers, followings_count = c.followings
+                from (select u2.user_id,
+                             (select count(*) from "follow" f where f.following = u2.user_id) as followers,
+                             (select count(*) from "follow" f where f.follower = u2.user_id) as followings
+                      from "user" u2
+                      where u2.user_id > ? and u2.user_id <= ?) c
+                where u.user_id = c.user_id
+                  and (u.followers_count is distinct from c.followers or u.followings_count is distinct from c.followings)
+                returning u.username
+                """, String.class, fromId, toId);
+    }
+}
@@ -1,17 +1,62 @@
 package com.fc_board.repository;
 
+import com.fc_board.model.bulk.IdPair;
 import com.fc_board.model.entity.FollowEntity;
 import com.fc_board.model.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FollowRepository extends JpaRepository<FollowEntity, Long> {
+    @EntityGraph(attributePaths = "following")
     List<FollowEntity> findByFollower(UserEntity follower);
 
+    @EntityGraph(attributePaths = "follower")
     List<FollowEntity> findByFollowing(UserEntity following);
 
     //
     Optional<FollowEntity> findByFollowerAndFollowing(UserEntity follower, UserEntity following);
+
+    boolean existsByFollowerAndFollowingId(UserEntity follower, Long followingId);
+
+    // bulk import 중복 확인용. 두 id 목록의 곱집합 중 이미 있는 관계
+    @Query("""
+            select new com.fc_board.model.bulk.IdPair(f.follower.id, f.following.id)
+            from FollowEntity f
+            where f.follower.id in :followerIds and f.following.id in :followingIds
+            """)
+    List<IdPair> findPairsByFollowerIdInAndFollowingIdIn(@Param("followerIds") Collection<Long> followerIds,
+                                                         @Param("followingIds") Collection<Long> followingIds);
+
+    @Query("select f.follower.id from FollowEntity f where f.following.id = :followingId")
+    List<Long> findFollowerIdsByFollowingId(@Param("followingId") Long followingId);
+
+    // 타임라인에서 fan-out-on-read 로 처리할, 팔로워 수가 기준을 넘는 팔로잉 목록
+    @Query("select f.following.id from FollowEntity f where f.follower.id = :followerId and f.following.followersCount > :followersCount")
+    List<Long> findFollowingIdsWithFollowersCountAbove(@Param("followerId") Long followerId, @Param("followersCount") Long followersCount);
+
+    // 목록 조회 시 페이지 단위로 한 번에 팔로우 여부를 확인하기 위함
+    @Query("select f.following.id from FollowEntity f where f.follower = :follower and f.following.id in :followingIds")
+    List<Long> findFollowingIdsByFollowerAndFollowingIdIn(@Param("follower") UserEntity follower, @Param("followingIds") Collection<Long> followingIds);
+
+    // 팔로우 그래프 적재용. (follower, following) 유니크 인덱스 순서 그대로 읽는다. (트랜잭션 안에서만 사용)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PostRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.fc_board.model.bulk.IdPair(f.follower.id, f.following.id)
+            from FollowEntity f
+            order by f.follower.id, f.following.id
+            """)
+    Stream<IdPair> streamEdges();
 }
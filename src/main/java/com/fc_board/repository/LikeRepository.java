@@ -1,18 +1,78 @@
 package com.fc_board.repository;
 
+import com.fc_board.model.bulk.IdPair;
 import com.fc_board.model.entity.LikeEntity;
 import com.fc_board.model.entity.PostEntity;
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.post.PostActivity;
+import com.fc_board.model.user.LikedUserProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
     List<LikeEntity> findByUser(UserEntity user);
 
+    @EntityGraph(attributePaths = "user")
     List<LikeEntity> findByPost(PostEntity post);
 
+    // 특정 사용자가 작성한 게시물들에 달린 좋아요를 최신순으로. 게시물마다 조회하지 않고 like ⨝ post ⨝ user 한 번으로 읽는다.
+    String SELECT_LIKED_USER_PROJECTION = """
+            select new com.fc_board.model.user.LikedUserProjection(
+                l.id, p.id, l.createdDateTime,
+                u.id, u.username, u.profile, u.description, u.followersCount, u.followingsCount, u.createdDateTime, u.updatedDateTime
+            )
+            from LikeEntity l join l.post p join l.user u
+            where l.postAuthorId = :authorId
+            """;
+
+    @Query(SELECT_LIKED_USER_PROJECTION + " order by l.createdDateTime desc, l.id desc")
+    List<LikedUserProjection> findLikedUsersByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(SELECT_LIKED_USER_PROJECTION + """
+              and l.createdDateTime <= :createdDateTime
+              and (l.createdDateTime < :createdDateTime or l.id < :likeId)
+            order by l.createdDateTime desc, l.id desc
+            """)
+    List<LikedUserProjection> findLikedUsersByAuthorIdBefore(@Param("authorId") Long authorId,
+                                                             @Param("createdDateTime") ZonedDateTime createdDateTime,
+                                                             @Param("likeId") Long likeId,
+                                                             Pageable pageable);
+
     // LikeEntity에서 index로 UserEntity와 PostEntity를 하나로 묶어놨기 때문에 결과 값은 항상 1 or 0 이다.
     Optional<LikeEntity> findByUserAndPost(UserEntity user, PostEntity post);
+
+    boolean existsByUserAndPostId(UserEntity user, Long postId);
+
+    // 목록 조회 시 페이지 단위로 한 번에 좋아요 여부를 확인하기 위함
+    @Query("select l.post.id from LikeEntity l where l.user = :user and l.post.id in :postIds")
+    List<Long> findPostIdsByUserAndPostIdIn(@Param("user") UserEntity user, @Param("postIds") Collection<Long> postIds);
+
+    // bulk import 중복 확인용. 두 id 목록의 곱집합 중 이미 있는 좋아요
+    @Query("""
+            select new com.fc_board.model.bulk.IdPair(l.user.id, l.post.id)
+            from LikeEntity l
+            where l.user.id in :userIds and l.post.id in :postIds
+            """)
+    List<IdPair> findPairsByUserIdInAndPostIdIn(@Param("userIds") Collection<Long> userIds,
+                                                @Param("postIds") Collection<Long> postIds);
+
+    // 재시작 후 인기 게시물 점수 복구용. (트랜잭션 안에서만 사용)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PostRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.fc_board.model.post.PostActivity(l.post.id, l.createdDateTime) from LikeEntity l where l.createdDateTime >= :since")
+    Stream<PostActivity> streamActivitiesSince(@Param("since") ZonedDateTime since);
 }
@@ -0,0 +1,32 @@
+package com.fc_board.repository;
+
+import com.fc_board.model.bulk.IdPair;
+import com.fc_board.model.entity.NotificationActorEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationActorRepository extends JpaRepository<NotificationActorEntity, Long> {
+
+    // (notification id, actor id). 배치에서 이미 세어진 사용자를 거를 때 쓴다.
+    @Query("""
+            select new com.fc_board.model.bulk.IdPair(a.notification.id, a.actorId) from NotificationActorEntity a
+            where a.notification.id in :notificationIds and a.actorId in :actorIds
+            """)
+    List<IdPair> findByNotificationIdInAndActorIdIn(@Param("notificationIds") Collection<Long> notificationIds,
+                                                    @Param("actorIds") Collection<Long> actorIds);
+
+    // 읽음 처리 전에 호출한다. 읽은 알림에는 더 묶이지 않는다.
+    @Modifying
+    @Query("""
+            delete from NotificationActorEntity a
+            where a.notification.id in (
+                select n.id from NotificationEntity n where n.user.id = :userId and n.readDateTime is null
+            )
+            """)
+    int deleteByUnreadNotificationsOf(@Param("userId") Long userId);
+}
@@ -0,0 +1,48 @@
+package com.fc_board.repository;
+
+import com.fc_board.model.entity.NotificationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
+
+    // 묶인 알림은 updatedDateTime 이 계속 바뀌므로 키셋 커서는 바뀌지 않는 (createdDateTime, id) 로 잡는다.
+    // updatedDateTime 으로 페이지를 나누면 넘기는 사이 다시 묶인 알림이 앞 페이지로 옮겨가 빠지거나 중복된다.
+    @Query("""
+            select n from NotificationEntity n
+            where n.user.id = :userId and n.readDateTime is null
+            order by n.createdDateTime desc, n.id desc
+            """)
+    List<NotificationEntity> findUnreadByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            select n from NotificationEntity n
+            where n.user.id = :userId and n.readDateTime is null
+              and n.createdDateTime <= :createdDateTime
+              and (n.createdDateTime < :createdDateTime or n.id < :notificationId)
+            order by n.createdDateTime desc, n.id desc
+            """)
+    List<NotificationEntity> findUnreadByUserIdBefore(@Param("userId") Long userId,
+                                                      @Param("createdDateTime") ZonedDateTime createdDateTime,
+                                                      @Param("notificationId") Long notificationId,
+                                                      Pageable pageable);
+
+    // 배치에 담긴 (수신자, groupKey) 조합의 곱집합 중 아직 읽지 않은 알림. 정확한 조합은 호출하는 쪽에서 다시 거른다.
+    @Query("""
+            select n from NotificationEntity n
+            where n.user.id in :userIds and n.groupKey in :groupKeys and n.readDateTime is null
+            """)
+    List<NotificationEntity> findUnreadByUserIdInAndGroupKeyIn(@Param("userIds") Collection<Long> userIds,
+                                                               @Param("groupKeys") Collection<String> groupKeys);
+
+    @Modifying
+    @Query("update NotificationEntity n set n.readDateTime = :readDateTime where n.user.id = :userId and n.readDateTime is null")
+    int markAllAsRead(@Param("userId") Long userId, @Param("readDateTime") ZonedDateTime readDateTime);
+}
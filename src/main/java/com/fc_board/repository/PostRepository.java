@@ -1,14 +1,111 @@
 package com.fc_board.repository;
 
+import com.fc_board.model.bulk.IdPair;
 import com.fc_board.model.entity.PostEntity;
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.post.PostProjection;
+import com.fc_board.model.post.PostVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 
+    String EXPORT_FETCH_SIZE = "500";
+
+    // post 와 작성자를 한 번의 join 으로 읽는 읽기 전용 프로젝션. 지연 로딩되는 PostEntity.user 를 행마다 초기화하지 않기 위함
+    String SELECT_POST_PROJECTION = """
+            select new com.fc_board.model.post.PostProjection(
+                p.id, p.body, p.repliesCount, p.likesCount, p.createdDateTime, p.updatedDateTime,
+                u.id, u.username, u.profile, u.description, u.followersCount, u.followingsCount, u.createdDateTime, u.updatedDateTime
+            )
+            from PostEntity p join p.user u
+            """;
+
     List<PostEntity> findByUser(UserEntity user);
+
+    @Query("""
+            select new com.fc_board.model.post.PostVersion(p.id, p.updatedDateTime, p.likesCount, p.repliesCount,
+                u.updatedDateTime, u.followersCount, u.followingsCount)
+            from PostEntity p join p.user u
+            where p.id = :postId
+            """)
+    Optional<PostVersion> findVersionById(@Param("postId") Long postId);
+
+    // bulk import 에서 like 가 가리키는 게시물이 있는지와 작성자를 한 번에 확인. (post id, 작성자 id)
+    @Query("select new com.fc_board.model.bulk.IdPair(p.id, p.user.id) from PostEntity p where p.id in :postIds")
+    List<IdPair> findIdAndUserIdByIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // 내보내기용. 결과를 한 번에 올리지 않고 fetch size 단위로 커서에서 읽는다. (트랜잭션 안에서만 사용)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_POST_PROJECTION + " where u.id = :userId order by p.id")
+    Stream<PostProjection> streamProjectionsByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_POST_PROJECTION + " where p.id = :postId")
+    Optional<PostProjection> findProjectionById(@Param("postId") Long postId);
+
+    @Query(SELECT_POST_PROJECTION + " where p.id in :postIds")
+    List<PostProjection> findProjectionsByIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query(SELECT_POST_PROJECTION + " where p.user = :user order by p.createdDateTime desc, p.id desc")
+    List<PostProjection> findProjectionsByUser(@Param("user") UserEntity user);
+
+    // 타임라인 재구성용. 팔로우한 사용자들의 최근 게시물 id
+    // 타임라인은 post_id 하나를 키로 페이지를 나누므로 정렬도 post_id 로 맞춘다.
+    @Query("""
+            select p.id from PostEntity p
+            where p.user.id in (select f.following.id from FollowEntity f where f.follower.id = :userId)
+            order by p.id desc
+            """)
+    List<Long> findTimelinePostIds(@Param("userId") Long userId, Pageable pageable);
+
+    // 링 버퍼에서 밀려난 오래된 페이지는 같은 조건에 post_id 키셋을 붙여 DB 에서 읽는다.
+    @Query("""
+            select p.id from PostEntity p
+            where p.user.id in (select f.following.id from FollowEntity f where f.follower.id = :userId)
+            and p.id < :beforePostId
+            order by p.id desc
+            """)
+    List<Long> findTimelinePostIdsBefore(@Param("userId") Long userId,
+                                         @Param("beforePostId") Long beforePostId,
+                                         Pageable pageable);
+
+    // 팔로워가 많아 fan-out 하지 않는 작성자들의 게시물은 타임라인 조회 시점에 직접 가져온다.
+    @Query("""
+            select p.id from PostEntity p
+            where p.user.id in :userIds and p.id < :beforePostId
+            order by p.id desc
+            """)
+    List<Long> findPostIdsByUserIdInBefore(@Param("userIds") Collection<Long> userIds,
+                                           @Param("beforePostId") Long beforePostId,
+                                           Pageable pageable);
+
+    // 피드 첫 페이지. (createdDateTime, post_id) 내림차순으로 post_created_date_time_post_id_idx 를 그대로 탄다.
+    @Query(SELECT_POST_PROJECTION + " order by p.createdDateTime desc, p.id desc")
+    List<PostProjection> findFeed(Pageable pageable);
+
+    // 커서 이후 페이지. 선행 컬럼의 범위 조건(<=)을 따로 두어 인덱스 범위 스캔이 되도록 한다.
+    @Query(SELECT_POST_PROJECTION + """
+            where p.createdDateTime <= :createdDateTime
+              and (p.createdDateTime < :createdDateTime or p.id < :postId)
+            order by p.createdDateTime desc, p.id desc
+            """)
+    List<PostProjection> findFeedBefore(@Param("createdDateTime") ZonedDateTime createdDateTime,
+                                        @Param("postId") Long postId,
+                                        Pageable pageable);
 }
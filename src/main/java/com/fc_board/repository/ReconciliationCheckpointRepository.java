@@ -0,0 +1,7 @@
+package com.fc_board.repository;
+
+import com.fc_board.model.entity.ReconciliationCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpointEntity, String> {
+}
@@ -3,15 +3,80 @@ package com.fc_board.repository;
 import com.fc_board.model.entity.PostEntity;
 import com.fc_board.model.entity.ReplyEntity;
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.post.PostActivity;
+import com.fc_board.model.reply.ReplyProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReplyRepository extends JpaRepository<ReplyEntity, Long> {
 
+    // reply 와 작성자를 한 번의 join 으로 읽는 읽기 전용 프로젝션. post 는 postId 로 따로 묶어서 조회한다.
+    String SELECT_REPLY_PROJECTION = """
+            select new com.fc_board.model.reply.ReplyProjection(
+                r.id, r.body, r.createdDateTime, r.updatedDateTime, r.post.id,
+                u.id, u.username, u.profile, u.description, u.followersCount, u.followingsCount, u.createdDateTime, u.updatedDateTime
+            )
+            from ReplyEntity r join r.user u
+            """;
+
     List<ReplyEntity> findByUser(UserEntity user);
 
+    // 내보내기용. PostRepository.streamProjectionsByUserId 참고
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PostRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_REPLY_PROJECTION + " where u.id = :userId order by r.id")
+    Stream<ReplyProjection> streamProjectionsByUserId(@Param("userId") Long userId);
+
     List<ReplyEntity> findByPost(PostEntity post);
+
+    // 게시물의 댓글 스레드는 오래된 순. (post_id, created_date_time, reply_id) 인덱스 순서 그대로 읽는다.
+    @Query(SELECT_REPLY_PROJECTION + " where r.post.id = :postId order by r.createdDateTime, r.id")
+    List<ReplyProjection> findProjectionsByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Query(SELECT_REPLY_PROJECTION + """
+            where r.post.id = :postId
+              and r.createdDateTime >= :createdDateTime
+              and (r.createdDateTime > :createdDateTime or r.id > :replyId)
+            order by r.createdDateTime, r.id
+            """)
+    List<ReplyProjection> findProjectionsByPostIdAfter(@Param("postId") Long postId,
+                                                       @Param("createdDateTime") ZonedDateTime createdDateTime,
+                                                       @Param("replyId") Long replyId,
+                                                       Pageable pageable);
+
+    // 사용자가 작성한 댓글은 최신순. (user_id, created_date_time, reply_id) 인덱스를 역방향으로 읽는다.
+    @Query(SELECT_REPLY_PROJECTION + " where r.user = :user order by r.createdDateTime desc, r.id desc")
+    List<ReplyProjection> findProjectionsByUser(@Param("user") UserEntity user, Pageable pageable);
+
+    @Query(SELECT_REPLY_PROJECTION + """
+            where r.user = :user
+              and r.createdDateTime <= :createdDateTime
+              and (r.createdDateTime < :createdDateTime or r.id < :replyId)
+            order by r.createdDateTime desc, r.id desc
+            """)
+    List<ReplyProjection> findProjectionsByUserBefore(@Param("user") UserEntity user,
+                                                      @Param("createdDateTime") ZonedDateTime createdDateTime,
+                                                      @Param("replyId") Long replyId,
+                                                      Pageable pageable);
+
+    // 재시작 후 인기 게시물 점수 복구용. 삭제된 댓글은 @SQLRestriction 으로 빠진다.
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PostRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.fc_board.model.post.PostActivity(r.post.id, r.createdDateTime) from ReplyEntity r where r.createdDateTime >= :since")
+    Stream<PostActivity> streamActivitiesSince(@Param("since") ZonedDateTime since);
 }
@@ -1,13 +1,53 @@
 package com.fc_board.repository;
 
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.user.UserVersion;
+import com.fc_board.model.user.UsernameProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity>findByUsername(String username);
 
-    List<UserEntity> findByUsernameContaining(String username);
+    // 검색 인덱스가 준비되기 전의 대체 경로. 결과 수는 호출 쪽 size 로 제한한다.
+    List<UserEntity> findByUsernameContainingOrderByIdAsc(String username, Pageable pageable);
+
+    @Query("""
+            select new com.fc_board.model.user.UserVersion(u.id, u.updatedDateTime, u.followersCount, u.followingsCount)
+            from UserEntity u
+            where u.username = :username
+            """)
+    Optional<UserVersion> findVersionByUsername(@Param("username") String username);
+
+    List<UserEntity> findByUsernameIn(Collection<String> usernames);
+
+    // 로그인 시 해시 재생성용. 엔티티 전체를 저장하지 않고 password 컬럼만 바꾼다.
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = :password where u.id = :userId")
+    int updatePassword(@Param("userId") Long userId, @Param("password") String password);
+
+    // 검색 인덱스 적재용. id 키셋으로 나눠서 username 만 읽는다.
+    @Query("select new com.fc_board.model.user.UsernameProjection(u.id, u.username) from UserEntity u where u.id > :lastUserId order by u.id")
+    List<UsernameProjection> findUsernamesAfter(@Param("lastUserId") Long lastUserId, Pageable pageable);
+
+    // 팔로우 그래프 적재용. id 순으로 번호를 매긴다. (트랜잭션 안에서만 사용)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PostRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.id from UserEntity u order by u.id")
+    Stream<Long> streamIds();
 }
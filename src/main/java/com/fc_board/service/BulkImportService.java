@@ -0,0 +1,361 @@
+package com.fc_board.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fc_board.exception.user.UserNotAllowedException;
+import com.fc_board.model.bulk.BulkImportResult;
+import com.fc_board.model.bulk.BulkImportRow;
+import com.fc_board.model.bulk.IdPair;
+import com.fc_board.model.entity.FollowEntity;
+import com.fc_board.model.entity.LikeEntity;
+import com.fc_board.model.entity.PostEntity;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.repository.CounterRepository;
+import com.fc_board.repository.CounterRepository.FollowCountDelta;
+import com.fc_board.repository.FollowRepository;
+import com.fc_board.repository.LikeRepository;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 관리자용 NDJSON bulk import. 요청 본문을 한 줄씩 읽어 batchSize 줄마다 한 트랜잭션으로 쓴다.
+// 본문 전체를 메모리에 올리지 않고, 카운터는 행마다가 아니라 batch 마다 한 번 갱신한다.
+// batch 가 실패하면 거기서 멈추고 마지막으로 커밋된 줄 번호를 돌려준다. 그 다음 줄부터 다시 보내면 이어서 가져온다.
+@Slf4j
+@Service
+public class BulkImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final Set<String> ROW_TYPES = Set.of("post", "follow", "like");
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final LikeRepository likeRepository;
+    private final CounterRepository counterRepository;
+    private final PrincipalCache principalCache;
+    private final TimelineService timelineService;
+    private final FollowGraph followGraph;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> adminUsernames;
+    private final int batchSize;
+    private final int maxRefs;
+
+    // open-in-view 로 요청 내내 같은 영속성 컨텍스트가 유지되므로 batch 마다 직접 비운다.
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImportService(UserRepository userRepository,
+                             PostRepository postRepository,
+                             FollowRepository followRepository,
+                             LikeRepository likeRepository,
+                             CounterRepository counterRepository,
+                             PrincipalCache principalCache,
+                             TimelineService timelineService,
+                             FollowGraph followGraph,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${fc-board.admin.usernames:}") List<String> adminUsernames,
+                             @Value("${fc-board.bulk-import.batch-size:500}") int batchSize,
+                             @Value("${fc-board.bulk-import.max-refs:100000}") int maxRefs) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.followRepository = followRepository;
+        this.likeRepository = likeRepository;
+        this.counterRepository = counterRepository;
+        this.principalCache = principalCache;
+        this.timelineService = timelineService;
+        this.followGraph = followGraph;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.adminUsernames = Set.copyOf(adminUsernames);
+        this.batchSize = batchSize;
+        this.maxRefs = maxRefs;
+    }
+
+    public BulkImportResult importRows(InputStream body, UserEntity currentUser) throws IOException {
+        if (!adminUsernames.contains(currentUser.getUsername())) {
+            throw new UserNotAllowedException();
+        }
+
+        var progress = new Progress();
+        var batch = new Batch(progress);
+        var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String text;
+        while ((text = reader.readLine()) != null) {
+            progress.lines++;
+            batch.lastLine = progress.lines;
+            if (text.isBlank()) {
+                continue;
+            }
+
+            BulkImportRow row;
+            try {
+                row = objectMapper.readValue(text, BulkImportRow.class);
+            } catch (JsonProcessingException e) {
+                batch.skip(progress.lines, "malformed JSON");
+                continue;
+            }
+
+            if (!ROW_TYPES.contains(row.type())) {
+                batch.skip(progress.lines, "unknown type " + row.type());
+                continue;
+            }
+            batch.lines.add(new Line(progress.lines, row));
+
+            if (batch.lines.size() == batchSize) {
+                if (!writeBatch(batch, progress)) {
+                    return progress.toResult();
+                }
+                batch = new Batch(progress);
+            }
+        }
+
+        if (batch.lastLine > progress.lastCommittedLine && !writeBatch(batch, progress)) {
+            return progress.toResult();
+        }
+
+        log.info("Bulk import finished: {} lines, {} posts, {} follows, {} likes, {} skipped",
+                progress.lines, progress.posts, progress.follows, progress.likes, progress.skipped);
+        return progress.toResult();
+    }
+
+    // 커밋되면 batch 의 건수와 ref 를 progress 에 합친다. 실패하면 false 를 돌려주고 progress 는 그대로 둔다.
+    private boolean writeBatch(Batch batch, Progress progress) {
+        List<FollowEntity> changedFollows;
+        try {
+            changedFollows = batch.lines.isEmpty() ? List.of() : transactionTemplate.execute(status -> {
+                var users = findUsers(batch.lines);
+                writePosts(batch, users);
+                var follows = writeFollows(batch, users);
+                writeLikes(batch, users);
+                return follows;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk import batch failed after line {}", progress.lastCommittedLine, e);
+            progress.fail(batch, e);
+            return false;
+        } finally {
+            entityManager.clear();
+        }
+        progress.commit(batch);
+
+        // 커밋된 뒤에 캐시를 비워야 이전 값이 다시 적재되지 않는다.
+        for (var follow : changedFollows) {
+            principalCache.evict(follow.follower().getUsername(), follow.following().getUsername());
+            timelineService.invalidate(follow.follower().getId());
+            followGraph.follow(follow.follower().getId(), follow.following().getId());
+        }
+        return true;
+    }
+
+    private Map<String, UserEntity> findUsers(List<Line> batch) {
+        var usernames = batch.stream()
+                .map(Line::row)
+                .flatMap(row -> Stream.of(row.username(), row.follower(), row.following()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (usernames.isEmpty()) {
+            return Map.of();
+        }
+
+        return userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(UserEntity::getUsername, Function.identity()));
+    }
+
+    private void writePosts(Batch batch, Map<String, UserEntity> users) {
+        for (var line : batch.lines) {
+            var row = line.row();
+            if (!"post".equals(row.type())) {
+                continue;
+            }
+
+            var user = users.get(row.username());
+            if (user == null) {
+                batch.skip(line.number(), "unknown username " + row.username());
+            } else if (row.body() == null || row.body().isBlank()) {
+                batch.skip(line.number(), "empty body");
+            } else if (row.ref() != null && batch.postId(row.ref()) != null) {
+                batch.skip(line.number(), "duplicate ref " + row.ref());
+            } else if (row.ref() != null && batch.refCount() >= maxRefs) {
+                // ref 는 import 가 끝날 때까지 메모리에 남으므로 개수를 제한한다. 파일을 나눠서 보내야 한다.
+                batch.skip(line.number(), "too many refs (max " + maxRefs + ")");
+            } else {
+                var post = PostEntity.of(row.body(), user);
+                // 시퀀스라 persist 시점에 id 가 정해진다. 같은 batch 의 like 가 ref 로 바로 참조할 수 있다.
+                entityManager.persist(post);
+                if (row.ref() != null) {
+                    batch.postRefs.put(row.ref(), post.getId());
+                }
+                batch.posts++;
+            }
+        }
+    }
+
+    private List<FollowEntity> writeFollows(Batch batch, Map<String, UserEntity> users) {
+        var lines = batch.lines.stream().filter(line -> "follow".equals(line.row().type())).toList();
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+
+        var existing = new HashSet<>(followRepository.findPairsByFollowerIdInAndFollowingIdIn(
+                lines.stream().map(line -> users.get(line.row().follower())).filter(Objects::nonNull).map(UserEntity::getId).toList(),
+                lines.stream().map(line -> users.get(line.row().following())).filter(Objects::nonNull).map(UserEntity::getId).toList()
+        ));
+
+        var follows = new ArrayList<FollowEntity>();
+        var deltas = new TreeMap<Long, FollowCountDelta>();
+        for (var line : lines) {
+            var follower = users.get(line.row().follower());
+            var following = users.get(line.row().following());
+            if (follower == null || following == null) {
+                batch.skip(line.number(), "unknown username " + (follower == null ? line.row().follower() : line.row().following()));
+            } else if (follower.getId().equals(following.getId())) {
+                batch.skip(line.number(), "cannot follow self");
+            } else if (!existing.add(new IdPair(follower.getId(), following.getId()))) {
+                batch.skip(line.number(), "already following");
+            } else {
+                var follow = FollowEntity.of(follower, following);
+                entityManager.persist(follow);
+                follows.add(follow);
+                deltas.merge(following.getId(), new FollowCountDelta(1, 0), FollowCountDelta::plus);
+                deltas.merge(follower.getId(), new FollowCountDelta(0, 1), FollowCountDelta::plus);
+                batch.follows++;
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            entityManager.flush();
+            counterRepository.addFollowCounts(deltas);
+        }
+        return follows;
+    }
+
+    private void writeLikes(Batch batch, Map<String, UserEntity> users) {
+        var lines = batch.lines.stream().filter(line -> "like".equals(line.row().type())).toList();
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        var postIds = new HashMap<Long, Long>(); // line number -> post id
+        for (var line : lines) {
+            var postId = line.row().postRef() != null ? batch.postId(line.row().postRef()) : line.row().postId();
+            if (postId != null) {
+                postIds.put(line.number(), postId);
+            }
+        }
+        var authorIds = postIds.isEmpty() ? Map.<Long, Long>of() : postRepository.findIdAndUserIdByIdIn(Set.copyOf(postIds.values())).stream()
+                .collect(Collectors.toMap(IdPair::left, IdPair::right)); // post id -> 작성자 id
+        var existingPostIds = authorIds.keySet();
+        var userIds = lines.stream().map(line -> users.get(line.row().username())).filter(Objects::nonNull).map(UserEntity::getId).toList();
+        var existing = existingPostIds.isEmpty() || userIds.isEmpty()
+                ? new HashSet<IdPair>()
+                : new HashSet<>(likeRepository.findPairsByUserIdInAndPostIdIn(userIds, existingPostIds));
+
+        var deltas = new TreeMap<Long, Long>();
+        for (var line : lines) {
+            var user = users.get(line.row().username());
+            var postId = postIds.get(line.number());
+            if (user == null) {
+                batch.skip(line.number(), "unknown username " + line.row().username());
+            } else if (postId == null || !existingPostIds.contains(postId)) {
+                batch.skip(line.number(), "unknown post " + (line.row().postRef() != null ? line.row().postRef() : line.row().postId()));
+            } else if (!existing.add(new IdPair(user.getId(), postId))) {
+                batch.skip(line.number(), "already liked");
+            } else {
+                entityManager.persist(LikeEntity.of(user, entityManager.getReference(PostEntity.class, postId), authorIds.get(postId)));
+                deltas.merge(postId, 1L, Long::sum);
+                batch.likes++;
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            entityManager.flush();
+            counterRepository.addLikesCounts(deltas);
+        }
+    }
+
+    private record Line(long number, BulkImportRow row) {
+    }
+
+    // 커밋된 batch 까지의 결과
+    private static final class Progress {
+        private final Map<String, Long> postRefs = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private long lines;
+        private long lastCommittedLine;
+        private long posts;
+        private long follows;
+        private long likes;
+        private long skipped;
+
+        private void commit(Batch batch) {
+            postRefs.putAll(batch.postRefs);
+            batch.errors.stream().limit(MAX_REPORTED_ERRORS - errors.size()).forEach(errors::add);
+            lastCommittedLine = batch.lastLine;
+            posts += batch.posts;
+            follows += batch.follows;
+            likes += batch.likes;
+            skipped += batch.skipped;
+        }
+
+        private void fail(Batch batch, RuntimeException e) {
+            errors.add("lines " + (lastCommittedLine + 1) + "-" + batch.lastLine + ": batch rolled back (" + e.getMessage() + ")");
+        }
+
+        private BulkImportResult toResult() {
+            return new BulkImportResult(lines, lastCommittedLine, posts, follows, likes, skipped, List.copyOf(errors));
+        }
+    }
+
+    // 아직 커밋되지 않은 batchSize 줄. 롤백되면 건수와 ref 를 버린다.
+    private static final class Batch {
+        private final Progress progress;
+        private final List<Line> lines = new ArrayList<>();
+        private final Map<String, Long> postRefs = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private long lastLine;
+        private long posts;
+        private long follows;
+        private long likes;
+        private long skipped;
+
+        private Batch(Progress progress) {
+            this.progress = progress;
+            this.lastLine = progress.lastCommittedLine;
+        }
+
+        private Long postId(String ref) {
+            var postId = postRefs.get(ref);
+            return postId != null ? postId : progress.postRefs.get(ref);
+        }
+
+        private int refCount() {
+            return progress.postRefs.size() + postRefs.size();
+        }
+
+        private void skip(long lineNumber, String reason) {
+            skipped++;
+            if (progress.errors.size() + errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fc_board.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 캐시 적재(PrincipalCache, TimelineService 의 DB 조회)만 돌리는 전용 실행기.
+// applicationTaskExecutor 는 @Async fan-out 과 내보내기(StreamingResponseBody)도 돌리므로 같이 쓰면 인증 조회가 그 뒤에 밀린다.
+// Caffeine 은 캐시 내부 잠금 안에서 작업을 넘기므로 호출자를 막으면 안 된다. 대기열과 virtual thread 수에 제한을 두지 않는다.
+// Executor 빈으로 등록하면 applicationTaskExecutor 자동 구성이 빠지므로 컴포넌트 안에 감싸 둔다.
+@Component
+public class CacheLoadExecutor {
+
+    private final ExecutorService executor;
+
+    public CacheLoadExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                             @Value("${fc-board.cache-load.threads:16}") int threads,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        if (virtualThreads) {
+            this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            // 적재는 DB 조회라 커넥션 풀 크기 이상으로 늘려도 빨라지지 않는다.
+            var threadNumber = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+                var thread = new Thread(runnable, "cache-load-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        meterRegistry.ifAvailable(registry -> ExecutorServiceMetrics.monitor(registry, executor, "cache-load"));
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
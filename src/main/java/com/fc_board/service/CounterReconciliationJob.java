@@ -0,0 +1,130 @@
+package com.fc_board.service;
+
+import com.fc_board.model.entity.ReconciliationCheckpointEntity;
+import com.fc_board.repository.CounterRepository;
+import com.fc_board.repository.ReconciliationCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 손으로 증감하는 비정규화 카운터(likes/replies/followers/followings)를 원본 테이블로부터 주기적으로 다시 계산
+// id 범위 청크 단위의 set-based update 로 처리하고, 청크마다 진행 위치를 기록해서 재시작 시 이어서 진행한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "fc-board.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class CounterReconciliationJob {
+
+    static final String POST_LIKES = "post.likes_count";
+    static final String POST_REPLIES = "post.replies_count";
+    static final String USER_FOLLOWS = "user.follow_counts";
+
+    private final CounterRepository counterRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final LikeCounterBuffer likeCounterBuffer;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration throttle;
+
+    public CounterReconciliationJob(CounterRepository counterRepository,
+                                    ReconciliationCheckpointRepository checkpointRepository,
+                                    LikeCounterBuffer likeCounterBuffer,
+                                    PrincipalCache principalCache,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${fc-board.reconciliation.chunk-size:1000}") int chunkSize,
+                                    @Value("${fc-board.reconciliation.throttle:PT0.1S}") Duration throttle) {
+        this.counterRepository = counterRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.likeCounterBuffer = likeCounterBuffer;
+        this.principalCache = principalCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.throttle = throttle;
+    }
+
+    @Scheduled(initialDelayString = "${fc-board.reconciliation.initial-delay:PT10M}",
+            fixedDelayString = "${fc-board.reconciliation.interval:PT1H}")
+    public void reconcile() {
+        // 좋아요 청크는 LikeCounterBuffer 의 flush 잠금 안에서 보정한다. (likeCounterBuffer.flushAndRun)
+        var corrected = reconcile(POST_LIKES, counterRepository::findPostIdBoundary, this::reconcileLikesCounts, likeCounterBuffer::flushAndRun)
+                + reconcile(POST_REPLIES, counterRepository::findPostIdBoundary, counterRepository::reconcileRepliesCounts, Supplier::get)
+                + reconcile(USER_FOLLOWS, counterRepository::findUserIdBoundary, this::reconcileFollowCounts, Supplier::get);
+
+        log.info("Counter reconciliation finished: {} rows corrected", corrected);
+    }
+
+    private long reconcile(String counterName,
+                           BiFunction<Long, Integer, Long> boundaryFinder,
+                           BiFunction<Long, Long, Integer> reconciler,
+                           Function<Supplier<Integer>, Integer> chunkGuard) {
+        var checkpoint = checkpointRepository.findById(counterName)
+                .orElseGet(() -> ReconciliationCheckpointEntity.of(counterName));
+        long lastId = checkpoint.getLastId();
+        long corrected = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            var boundary = boundaryFinder.apply(lastId, chunkSize);
+            var fromId = lastId;
+
+            if (boundary == null) {
+                // 한 바퀴를 다 돌았으면 다음 실행은 처음부터 시작한다.
+                checkpoint.setLastId(0L);
+                checkpointRepository.save(checkpoint);
+                break;
+            }
+
+            var updated = chunkGuard.apply(() -> transactionTemplate.execute(status -> {
+                var rows = reconciler.apply(fromId, boundary);
+                checkpoint.setLastId(boundary);
+                checkpointRepository.save(checkpoint);
+                return rows;
+            }));
+
+            corrected += updated == null ? 0 : updated;
+            lastId = boundary;
+            pause();
+        }
+
+        log.info("Reconciled {}: {} rows corrected", counterName, corrected);
+        return corrected;
+    }
+
+    // 버퍼에 남은 변화량은 이미 "like" 테이블에 있는 행이라 count(*) 에 포함된다.
+    // 나중에 flush 되면서 한 번 더 더해지지 않도록 다시 계산한 값에서 미리 빼 둔다.
+    private int reconcileLikesCounts(long fromId, long toId) {
+        var pendingDeltas = likeCounterBuffer.pendingDeltas(fromId, toId);
+        var rows = counterRepository.reconcileLikesCounts(fromId, toId);
+        if (!pendingDeltas.isEmpty()) {
+            var compensation = new TreeMap<Long, Long>();
+            pendingDeltas.forEach((postId, delta) -> compensation.put(postId, -delta));
+            counterRepository.addLikesCounts(compensation);
+        }
+        return rows;
+    }
+
+    // 값이 바뀐 사용자는 PrincipalCache 에 남아 있는 이전 카운터를 비운다. (트랜잭션 종료 후에도 한 번 더 비워진다)
+    private int reconcileFollowCounts(long fromId, long toId) {
+        var usernames = counterRepository.reconcileFollowCounts(fromId, toId);
+        if (!usernames.isEmpty()) {
+            principalCache.evict(usernames.toArray(String[]::new));
+        }
+        return usernames.size();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(throttle.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
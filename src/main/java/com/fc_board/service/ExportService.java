@@ -0,0 +1,112 @@
+package com.fc_board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fc_board.exception.user.ExportBusyException;
+import com.fc_board.exception.user.UserNotAllowedException;
+import com.fc_board.exception.user.UserNotFoundException;
+import com.fc_board.model.bulk.ExportLine;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.post.Post;
+import com.fc_board.model.reply.Reply;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.ReplyRepository;
+import com.fc_board.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 사용자의 게시물과 댓글을 NDJSON 으로 내보낸다. (데이터 다운로드, 개인정보 열람 요청)
+// 목록을 만들지 않고 DB 커서에서 한 행씩 읽어 바로 쓰므로 계정 크기와 상관없이 메모리 사용량이 일정하다.
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final ReplyRepository replyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // 내보내기는 느린 클라이언트에 쓰는 동안 커넥션을 계속 잡고 있으므로 동시에 도는 수를 제한해 풀을 지킨다.
+    private final Semaphore permits;
+
+    public ExportService(UserRepository userRepository,
+                         PostRepository postRepository,
+                         ReplyRepository replyRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${fc-board.export.max-concurrent:4}") int maxConcurrent) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.replyRepository = replyRepository;
+        this.objectMapper = objectMapper;
+        // Postgres 는 트랜잭션 안(autocommit off)에서만 fetch size 만큼씩 커서로 읽는다.
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    // 스트리밍을 시작하기 전에 확인해야 404/403/503 을 정상 응답으로 돌려줄 수 있다.
+    // 여기서 얻은 자리는 permitRelease() 로 돌려준다.
+    public UserEntity getExportableUser(String username, UserEntity currentUser) {
+        var userEntity = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException(username));
+
+        if (!userEntity.getId().equals(currentUser.getId())) {
+            throw new UserNotAllowedException();
+        }
+
+        if (!permits.tryAcquire()) {
+            throw new ExportBusyException();
+        }
+        return userEntity;
+    }
+
+    // getExportableUser 에서 얻은 자리를 한 번만 돌려준다.
+    // 본문이 끝날 때와 비동기 요청이 끝날 때(시간 초과, 오류, 본문이 실행되지 않은 경우 포함) 양쪽에서 호출한다.
+    public Runnable permitRelease() {
+        var released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    public void writeUserData(UserEntity userEntity, OutputStream out) {
+        writeRows(userEntity, out);
+        log.info("Exported posts and replies of user {}", userEntity.getUsername());
+    }
+
+    private void writeRows(UserEntity userEntity, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var posts = postRepository.streamProjectionsByUserId(userEntity.getId())) {
+                posts.forEach(post -> writeLine(ExportLine.of(Post.from(post)), out));
+            }
+
+            try (var replies = replyRepository.streamProjectionsByUserId(userEntity.getId())) {
+                replies.forEach(reply -> writeLine(ExportLine.of(Reply.from(reply, Post.ofId(reply.postId()))), out));
+            }
+        });
+    }
+
+    private void writeLine(ExportLine line, OutputStream out) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊은 경우. 트랜잭션을 롤백하고 커서를 닫는다.
+            throw new UncheckedIOException(e);
+        }
+    }
+}
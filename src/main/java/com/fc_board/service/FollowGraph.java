@@ -0,0 +1,645 @@
+package com.fc_board.service;
+
+import com.fc_board.model.event.FollowEvent;
+import com.fc_board.repository.FollowRepository;
+import com.fc_board.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+// 팔로우 관계 전체를 메모리에 CSR(compressed sparse row) 형태로 들고 있는다.
+// 사용자는 0..n-1 의 int 번호로 바꾸고, i 번 사용자가 팔로우하는 사용자 번호는 targets[offsets[i] .. offsets[i + 1]) 에 정렬되어 있다.
+// 간선 하나에 int 4 byte 라 수천만 개의 관계도 수백 MB 안에 들어간다. (boxed Long 컬렉션이면 간선당 수십 byte)
+// 시작 후 생긴 팔로우 / 언팔로우는 정렬된 long 배열(overlay)에 따로 두었다가 compact 에서 CSR 로 합친다.
+// 변경은 큐에 넣고 mutationLock 을 잡은 쪽이 순서대로 반영하므로, 적재 / compact 중에도 이벤트를 보내는 요청 스레드는 기다리지 않는다.
+@Slf4j
+@Component
+public class FollowGraph {
+
+    private final UserRepository userRepository;
+    private final FollowRepository followRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int compactThreshold;
+
+    // 조회는 읽기 잠금, 변경은 쓰기 잠금.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 변경끼리 / 변경과 compact 를 직렬화한다. compact 는 이 잠금만 잡고 새 배열을 만들기 때문에 그동안 조회는 막히지 않는다.
+    private final ReentrantLock mutationLock = new ReentrantLock();
+    // 아직 반영하지 않은 팔로우 / 언팔로우. 들어온 순서대로 반영한다.
+    private final ConcurrentLinkedQueue<Change> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    // 번호 → user id. 적재 시점의 사용자는 id 순으로 번호를 매겨 [0, sortedCount) 를 이진 탐색하고,
+    // 이후에 처음 보는 사용자만 extraIndexes 에 둔다. (전체를 해시맵에 넣으면 사용자 수의 몇 배를 더 쓴다)
+    private long[] userIds = new long[16];
+    private int sortedCount;
+    private LongIntMap extraIndexes = new LongIntMap(16);
+    private int nodeCount;
+
+    // CSR 에 들어 있는 사용자 수. 이후에 추가된 사용자는 CSR 행이 없다.
+    private int baseNodeCount;
+    private int[] offsets = new int[1];
+    private int[] targets = new int[0];
+
+    // CSR 이후의 변경. (팔로워 번호 << 32 | 팔로잉 번호) 로 정렬되어 있어 팔로워별 범위 조회가 된다.
+    private final SortedLongSet added = new SortedLongSet();
+    private final SortedLongSet removed = new SortedLongSet();
+
+    private volatile boolean loaded;
+
+    public FollowGraph(UserRepository userRepository,
+                       FollowRepository followRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${fc-board.follow-graph.compact-threshold:100000}") int compactThreshold,
+                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this.userRepository = userRepository;
+        this.followRepository = followRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.compactThreshold = compactThreshold;
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("board.follow-graph.users", this, graph -> graph.nodeCount).register(registry);
+            Gauge.builder("board.follow-graph.edges", this, graph -> graph.targets.length + graph.added.size() - graph.removed.size()).register(registry);
+        });
+    }
+
+    // 적재가 끝나기 전에는 호출하는 쪽이 DB 로 대신 확인한다.
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        mutationLock.lock();
+        try {
+            var snapshot = readOnlyTransaction.execute(status -> readSnapshot());
+
+            lock.writeLock().lock();
+            try {
+                userIds = snapshot.userIds();
+                sortedCount = snapshot.nodeCount();
+                extraIndexes = new LongIntMap(16);
+                nodeCount = snapshot.nodeCount();
+                baseNodeCount = snapshot.nodeCount();
+                offsets = snapshot.offsets();
+                targets = snapshot.targets();
+                added.clear();
+                removed.clear();
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Loaded follow graph: {} users, {} edges", nodeCount, targets.length);
+        } finally {
+            mutationLock.unlock();
+        }
+        // 적재 중에 쌓인 변경. 이미 스냅샷에 들어 있는 변경은 다시 반영해도 그대로다.
+        applyPendingChanges();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(FollowEvent event) {
+        if (event.followed()) {
+            follow(event.followerId(), event.followingId());
+        } else {
+            unFollow(event.followerId(), event.followingId());
+        }
+    }
+
+    public void follow(long followerId, long followingId) {
+        pendingChanges.add(new Change(followerId, followingId, true));
+        applyPendingChanges();
+    }
+
+    public void unFollow(long followerId, long followingId) {
+        pendingChanges.add(new Change(followerId, followingId, false));
+        applyPendingChanges();
+    }
+
+    public boolean follows(long followerId, long followingId) {
+        lock.readLock().lock();
+        try {
+            var follower = indexOf(followerId);
+            var following = indexOf(followingId);
+            return follower >= 0 && following >= 0 && hasEdge(edge(follower, following));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isMutual(long userId, long otherUserId) {
+        lock.readLock().lock();
+        try {
+            var user = indexOf(userId);
+            var other = indexOf(otherUserId);
+            return user >= 0 && other >= 0 && hasEdge(edge(user, other)) && hasEdge(edge(other, user));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 내가 팔로우하는 사용자들이 팔로우하는 사용자(친구의 친구)를, 그중 몇 명이 팔로우하는지(mutualCount) 순으로.
+    // 나 자신과 이미 팔로우 중인 사용자는 뺀다. 같은 수면 먼저 가입한(번호가 작은) 사용자가 앞선다.
+    public List<Suggestion> suggest(long userId, int limit) {
+        lock.readLock().lock();
+        try {
+            var user = indexOf(userId);
+            if (user < 0) {
+                return List.of();
+            }
+
+            var followings = new IntList();
+            forEachFollowing(user, followings::add);
+            var excluded = followings.toSortedArray();
+
+            var counts = new IntIntCounter(Math.max(16, followings.size() * 4));
+            for (int i = 0; i < followings.size(); i++) {
+                forEachFollowing(followings.get(i), candidate -> {
+                    if (candidate != user && Arrays.binarySearch(excluded, candidate) < 0) {
+                        counts.increment(candidate);
+                    }
+                });
+            }
+
+            // (mutualCount << 32 | 뒤집은 번호) 로 묶어 정렬하면 뒤에서부터가 순위 순이다.
+            var ranked = counts.toPacked((candidate, count) -> ((long) count << 32) | (Integer.MAX_VALUE - candidate));
+            Arrays.sort(ranked);
+
+            var suggestions = new ArrayList<Suggestion>(Math.min(limit, ranked.length));
+            for (int i = ranked.length - 1; i >= 0 && suggestions.size() < limit; i--) {
+                var candidate = Integer.MAX_VALUE - (int) ranked[i];
+                suggestions.add(new Suggestion(userIds[candidate], (int) (ranked[i] >>> 32)));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // overlay 가 커지면 삽입(배열 이동)이 느려지므로 CSR 로 합친다.
+    @Scheduled(fixedDelayString = "${fc-board.follow-graph.compact-interval:PT1M}")
+    public void compact() {
+        if (added.size() + removed.size() < compactThreshold) {
+            return;
+        }
+
+        mutationLock.lock();
+        try {
+            // 변경은 mutationLock 에서 기다리므로 여기서 읽는 동안 상태가 바뀌지 않는다. 조회는 계속 들어온다.
+            var newOffsets = new int[nodeCount + 1];
+            var newTargets = new int[targets.length + added.size() - removed.size()];
+            var position = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                newOffsets[node] = position;
+                position = mergeRow(node, newTargets, position);
+            }
+            newOffsets[nodeCount] = position;
+
+            lock.writeLock().lock();
+            try {
+                offsets = newOffsets;
+                targets = newTargets;
+                baseNodeCount = nodeCount;
+                added.clear();
+                removed.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Compacted follow graph: {} users, {} edges", nodeCount, newTargets.length);
+        } finally {
+            mutationLock.unlock();
+        }
+        applyPendingChanges();
+    }
+
+    // 잠금을 못 잡으면 기다리지 않고 돌아간다. 잡고 있던 쪽이 풀고 나서 이 메서드를 다시 불러 남은 변경을 반영한다.
+    // 풀기 직전에 들어온 변경도 놓치지 않도록 큐가 빌 때까지 다시 시도한다.
+    private void applyPendingChanges() {
+        while (!pendingChanges.isEmpty() && mutationLock.tryLock()) {
+            try {
+                lock.writeLock().lock();
+                try {
+                    Change change;
+                    while ((change = pendingChanges.poll()) != null) {
+                        if (change.followed()) {
+                            applyFollow(change.followerId(), change.followingId());
+                        } else {
+                            applyUnFollow(change.followerId(), change.followingId());
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                mutationLock.unlock();
+            }
+        }
+    }
+
+    private void applyFollow(long followerId, long followingId) {
+        var edge = edge(indexOrAdd(followerId), indexOrAdd(followingId));
+        if (!removed.remove(edge) && !inBase(edge)) {
+            added.add(edge);
+        }
+    }
+
+    private void applyUnFollow(long followerId, long followingId) {
+        var follower = indexOf(followerId);
+        var following = indexOf(followingId);
+        if (follower < 0 || following < 0) {
+            return;
+        }
+
+        var edge = edge(follower, following);
+        if (!added.remove(edge) && inBase(edge)) {
+            removed.add(edge);
+        }
+    }
+
+    private Snapshot readSnapshot() {
+        var ids = new LongList();
+        try (var stream = userRepository.streamIds()) {
+            stream.forEach(ids::add);
+        }
+
+        // id 순으로 번호를 매기고, 간선도 (follower, following) id 순으로 읽으면 행 순서 그대로 CSR 을 채울 수 있다.
+        var count = ids.size();
+        var snapshotIds = Arrays.copyOf(ids.toArray(), Math.max(16, count));
+
+        var snapshotOffsets = new int[count + 1];
+        var snapshotTargets = new IntList((int) Math.min(Integer.MAX_VALUE - 8, followRepository.count()));
+        var row = new int[]{0};
+        try (var stream = followRepository.streamEdges()) {
+            stream.forEach(edge -> {
+                var follower = Arrays.binarySearch(snapshotIds, 0, count, edge.left());
+                var following = Arrays.binarySearch(snapshotIds, 0, count, edge.right());
+                // 삭제된 사용자의 관계는 건너뛴다.
+                if (follower < 0 || following < 0) {
+                    return;
+                }
+                while (row[0] < follower) {
+                    snapshotOffsets[++row[0]] = snapshotTargets.size();
+                }
+                snapshotTargets.add(following);
+            });
+        }
+        while (row[0] < count) {
+            snapshotOffsets[++row[0]] = snapshotTargets.size();
+        }
+
+        return new Snapshot(snapshotIds, count, snapshotOffsets, snapshotTargets.trimmed());
+    }
+
+    // CSR 행에서 removed 를 빼고 added 를 끼워 넣는다. 둘 다 팔로잉 번호 순이라 한 번에 병합된다.
+    private int mergeRow(int node, int[] into, int position) {
+        var base = node < baseNodeCount ? offsets[node] : 0;
+        var baseEnd = node < baseNodeCount ? offsets[node + 1] : 0;
+        var extra = added.lowerBound(edge(node, 0));
+
+        while (base < baseEnd || isRow(added, extra, node)) {
+            var fromExtra = !(base < baseEnd)
+                    || (isRow(added, extra, node) && (int) added.get(extra) < targets[base]);
+            if (fromExtra) {
+                into[position++] = (int) added.get(extra++);
+            } else {
+                var following = targets[base++];
+                if (!removed.contains(edge(node, following))) {
+                    into[position++] = following;
+                }
+            }
+        }
+        return position;
+    }
+
+    private void forEachFollowing(int node, IntConsumer action) {
+        if (node < baseNodeCount) {
+            var hasRemoved = removed.size() > 0;
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                if (!hasRemoved || !removed.contains(edge(node, targets[i]))) {
+                    action.accept(targets[i]);
+                }
+            }
+        }
+
+        for (int i = added.lowerBound(edge(node, 0)); isRow(added, i, node); i++) {
+            action.accept((int) added.get(i));
+        }
+    }
+
+    private boolean hasEdge(long edge) {
+        if (added.contains(edge)) {
+            return true;
+        }
+        return !removed.contains(edge) && inBase(edge);
+    }
+
+    private boolean inBase(long edge) {
+        var follower = (int) (edge >>> 32);
+        return follower < baseNodeCount
+                && Arrays.binarySearch(targets, offsets[follower], offsets[follower + 1], (int) edge) >= 0;
+    }
+
+    private int indexOf(long userId) {
+        var index = Arrays.binarySearch(userIds, 0, sortedCount, userId);
+        return index >= 0 ? index : extraIndexes.get(userId);
+    }
+
+    private int indexOrAdd(long userId) {
+        var index = indexOf(userId);
+        if (index >= 0) {
+            return index;
+        }
+
+        if (nodeCount == userIds.length) {
+            userIds = Arrays.copyOf(userIds, userIds.length * 2);
+        }
+        userIds[nodeCount] = userId;
+        extraIndexes.put(userId, nodeCount);
+        return nodeCount++;
+    }
+
+    private static boolean isRow(SortedLongSet set, int i, int node) {
+        return i < set.size() && (int) (set.get(i) >>> 32) == node;
+    }
+
+    private static long edge(int follower, int following) {
+        return ((long) follower << 32) | (following & 0xffffffffL);
+    }
+
+    public record Suggestion(long userId, int mutualCount) {
+    }
+
+    private record Change(long followerId, long followingId, boolean followed) {
+    }
+
+    private record Snapshot(long[] userIds, int nodeCount, int[] offsets, int[] targets) {
+    }
+
+    // 적재 이후 생긴 사용자의 user id → 번호. open addressing, 0 을 빈 칸으로 쓴다. (DB id 는 1 부터)
+    private static final class LongIntMap {
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        LongIntMap(int expected) {
+            var capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+        }
+
+        int get(long key) {
+            var mask = keys.length - 1;
+            for (int slot = hash(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+
+            var mask = keys.length - 1;
+            var slot = hash(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void resize() {
+            var oldKeys = keys;
+            var oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            return Long.hashCode(key * 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    // 친구의 친구 집계용 번호 → 횟수. -1 을 빈 칸으로 쓴다.
+    private static final class IntIntCounter {
+
+        private int[] keys;
+        private int[] counts;
+        private int size;
+
+        IntIntCounter(int expected) {
+            var capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            keys = new int[capacity];
+            counts = new int[capacity];
+            Arrays.fill(keys, -1);
+        }
+
+        void increment(int key) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+
+            var mask = keys.length - 1;
+            var slot = (key * 0x9E3779B9) & mask;
+            while (keys[slot] != -1 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == -1) {
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot]++;
+        }
+
+        long[] toPacked(IntIntToLong packer) {
+            var packed = new long[size];
+            var position = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != -1) {
+                    packed[position++] = packer.apply(keys[i], counts[i]);
+                }
+            }
+            return packed;
+        }
+
+        private void resize() {
+            var oldKeys = keys;
+            var oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldCounts.length * 2];
+            Arrays.fill(keys, -1);
+            size = 0;
+
+            var mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == -1) {
+                    continue;
+                }
+                var slot = (oldKeys[i] * 0x9E3779B9) & mask;
+                while (keys[slot] != -1) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                size++;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntIntToLong {
+        long apply(int key, int value);
+    }
+
+    // overlay 용 정렬된 long 집합. 삽입 / 삭제는 배열 이동이라 compactThreshold 이하로 작게 유지한다.
+    private static final class SortedLongSet {
+
+        private long[] values = new long[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int i) {
+            return values[i];
+        }
+
+        boolean contains(long value) {
+            return size > 0 && Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        // value 이상인 첫 위치
+        int lowerBound(long value) {
+            var i = Arrays.binarySearch(values, 0, size, value);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        boolean add(long value) {
+            var i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) {
+                return false;
+            }
+
+            i = -i - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = value;
+            size++;
+            return true;
+        }
+
+        boolean remove(long value) {
+            var i = size == 0 ? -1 : Arrays.binarySearch(values, 0, size, value);
+            if (i < 0) {
+                return false;
+            }
+
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        void clear() {
+            values = new long[16];
+            size = 0;
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values;
+        private int size;
+
+        IntList() {
+            this(16);
+        }
+
+        IntList(int capacity) {
+            values = new int[Math.max(capacity, 16)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length + (values.length >> 1));
+            }
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        // 용량이 딱 맞으면 복사하지 않는다. 적재 시 간선 수만큼 미리 잡아 두므로 대개 복사 없이 끝난다.
+        int[] trimmed() {
+            return size == values.length ? values : toArray();
+        }
+
+        int[] toSortedArray() {
+            var sorted = toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length + (values.length >> 1));
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.fc_board.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Slf4j
 @Service
@@ -15,6 +25,34 @@ public class JwtService {
 
     private static final SecretKey key = Jwts.SIG.HS256.key().build();
 
+    // JwtParser 는 불변이고 thread-safe 하므로 요청마다 새로 만들지 않고 재사용
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    // 서명 검증을 통과한 토큰의 digest -> subject. 각 항목은 토큰의 exp 시점에 만료된다.
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${fc-board.jwt.verified-token-cache.maximum-size:100000}") long maximumSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        return Math.max(0, token.expiration().toEpochMilli() - System.currentTimeMillis()) * 1_000_000L;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(digest, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String generateAccessToken(UserDetails userDetails) {
         return generateToken(userDetails.getUsername());
     }
@@ -34,16 +72,37 @@ public class JwtService {
     }
 
     private String getSubject(String token) {
+        var digest = digest(token);
+        var verifiedToken = verifiedTokens.getIfPresent(digest);
+
+        // 캐시 만료는 지연 처리될 수 있으므로 exp 를 한 번 더 확인하고, 지났으면 파서가 ExpiredJwtException 을 던지도록 한다.
+        if (verifiedToken != null && verifiedToken.expiration().isAfter(Instant.now())) {
+            return verifiedToken.subject();
+        }
+
         try {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
+            var claims = parser.parseSignedClaims(token).getPayload();
+
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant()));
+            }
+
+            return claims.getSubject();
         } catch (JwtException e) {
             log.error("JwtException", e);
             throw e;
         }
     }
+
+    private static String digest(String token) {
+        try {
+            var messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(String subject, Instant expiration) {
+    }
 }
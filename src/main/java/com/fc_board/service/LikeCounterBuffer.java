@@ -0,0 +1,152 @@
+package com.fc_board.service;
+
+import com.fc_board.repository.CounterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 게시물별 좋아요 수 변화량을 메모리에 모아 두었다가 주기적으로 batch update 로 반영 (write-behind)
+// 인기 게시물에 좋아요가 몰려도 요청마다 post 행 잠금을 잡지 않는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeCounterBuffer {
+
+    private final CounterRepository counterRepository;
+
+    // LongAdder 는 내부적으로 셀을 나눠(striped) 경합 없이 누적한다.
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // flush 중이라 pending 에서는 빠졌지만 아직 커밋되지 않은 변화량. 읽기 시 잠깐 값이 줄어 보이는 것을 막는다.
+    private final ConcurrentHashMap<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    // 직전 flush 에서 맵에서 제거한 adder. 제거 직전에 참조를 얻은 writer 의 누적분을 다음 flush 에서 마저 회수한다.
+    private final List<Map.Entry<Long, LongAdder>> retired = new ArrayList<>();
+
+    // synchronized 안에서 JDBC 를 기다리면 virtual thread 가 carrier 를 고정(pin)하므로 ReentrantLock 을 쓴다.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void add(Long postId, long delta) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+    }
+
+    // 트랜잭션이 롤백되면 변화량도 버려지도록 커밋 이후에 누적한다.
+    public void addAfterCommit(Long postId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(postId, delta);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(postId, delta);
+            }
+        });
+    }
+
+    // 아직 DB 에 반영되지 않은 변화량. 화면에 보여줄 좋아요 수는 저장된 값 + 이 값이다.
+    public long pendingDelta(Long postId) {
+        var adder = pending.get(postId);
+        var flushing = inFlight.getOrDefault(postId, 0L);
+        return (adder == null ? 0L : adder.sum()) + flushing;
+    }
+
+    @Scheduled(fixedDelayString = "${fc-board.like-counter.flush-interval:PT1S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 보정 작업용. 버퍼를 비운 뒤 flush 잠금을 잡은 채로 action 을 실행한다.
+    // action 이 likes_count 를 다시 계산하는 동안 flush 가 끼어들어 같은 좋아요를 한 번 더 더하지 못하게 한다.
+    public <T> T flushAndRun(Supplier<T> action) {
+        flushLock.lock();
+        try {
+            flushPending();
+            return action.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // (fromId, toId] 범위 게시물의 아직 반영되지 않은 변화량. 이미 "like" 테이블에는 있는 행들이다. (flushAndRun 안에서 호출)
+    public SortedMap<Long, Long> pendingDeltas(long fromId, long toId) {
+        var deltas = new TreeMap<Long, Long>();
+        for (var entry : retired) {
+            addInRange(entry.getKey(), entry.getValue(), fromId, toId, deltas);
+        }
+        pending.forEach((postId, adder) -> addInRange(postId, adder, fromId, toId, deltas));
+        return deltas;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        var deltas = new TreeMap<Long, Long>();
+
+        for (var entry : retired) {
+            collect(entry.getKey(), entry.getValue(), deltas);
+        }
+        retired.clear();
+
+        for (var entry : pending.entrySet()) {
+            var adder = entry.getValue();
+            if (!collect(entry.getKey(), adder, deltas) && pending.remove(entry.getKey(), adder)) {
+                retired.add(Map.entry(entry.getKey(), adder));
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            counterRepository.addLikesCounts(deltas);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush likes count for {} posts, will retry", deltas.size(), e);
+            deltas.forEach(this::add);
+        } finally {
+            inFlight.clear();
+        }
+    }
+
+    private static void addInRange(Long postId, LongAdder adder, long fromId, long toId, TreeMap<Long, Long> deltas) {
+        var delta = adder.sum();
+        if (postId > fromId && postId <= toId && delta != 0) {
+            deltas.merge(postId, delta, Long::sum);
+        }
+    }
+
+    private boolean collect(Long postId, LongAdder adder, TreeMap<Long, Long> deltas) {
+        var delta = adder.sumThenReset();
+        if (delta == 0) {
+            return false;
+        }
+
+        deltas.merge(postId, delta, Long::sum);
+        inFlight.merge(postId, delta, Long::sum);
+        return true;
+    }
+}
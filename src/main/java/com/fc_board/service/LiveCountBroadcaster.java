@@ -0,0 +1,267 @@
+package com.fc_board.service;
+
+import com.fc_board.exception.post.InvalidLivePostIdsException;
+import com.fc_board.model.event.LikeEvent;
+import com.fc_board.model.event.ReplyEvent;
+import com.fc_board.model.post.PostCountDelta;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 게시물 좋아요 / 댓글 수 변화를 SSE 로 구독자에게 보낸다.
+// 변화량은 window 동안 게시물별로 합쳐서 구독자마다 한 번에 보내므로, 인기 게시물에 이벤트가 몰려도 전송 횟수는 window 당 한 번이다.
+// 구독자마다 전송은 한 번에 하나만 돌린다. 느린 클라이언트에 쓰는 동안 들어온 변화량은 구독자의 pending 에 합쳐 두었다가 다음에 한 번에 보낸다.
+// SseEmitter 는 서블릿 비동기 요청이라 연결을 유지하는 동안 요청 스레드를 잡고 있지 않는다.
+@Slf4j
+@Component
+public class LiveCountBroadcaster {
+
+    private final Duration timeout;
+    private final int maxPostIds;
+
+    // postId → 구독자. 구독자가 없는 게시물의 변화량은 모으지 않는다.
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> connections = ConcurrentHashMap.newKeySet();
+
+    // merge / remove 가 키 단위로 원자적이라 flush 중에 들어온 변화량도 잃지 않는다.
+    private final ConcurrentHashMap<Long, PostCountDelta> pending = new ConcurrentHashMap<>();
+
+    // 느린 클라이언트에 쓰는 동안 스케줄러 스레드가 막히지 않도록 전송은 전용 실행기에서 한다.
+    // applicationTaskExecutor 와 나눠서 느린 구독자가 @Async 작업이나 다른 비동기 요청을 밀어내지 않게 한다.
+    // 플랫폼 스레드 모드에서는 대기열을 제한하고, 가득 차면 호출자를 막지 않고 그 구독자를 끊는다.
+    private final ExecutorService sender;
+
+    public LiveCountBroadcaster(@Value("${fc-board.live-counts.timeout:PT30M}") Duration timeout,
+                                @Value("${fc-board.live-counts.max-post-ids:100}") int maxPostIds,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                @Value("${fc-board.live-counts.sender-threads:16}") int senderThreads,
+                                @Value("${fc-board.live-counts.sender-queue-capacity:10000}") int senderQueueCapacity,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.timeout = timeout;
+        this.maxPostIds = maxPostIds;
+
+        if (virtualThreads) {
+            this.sender = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            var threadNumber = new AtomicInteger();
+            this.sender = new ThreadPoolExecutor(
+                    senderThreads, senderThreads,
+                    0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(senderQueueCapacity),
+                    runnable -> {
+                        var thread = new Thread(runnable, "live-count-sender-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy()
+            );
+        }
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("board.live-counts.subscribers", connections, Collection::size).register(registry);
+            ExecutorServiceMetrics.monitor(registry, sender, "live-count-sender");
+        });
+    }
+
+    public SseEmitter subscribe(Collection<Long> postIds) {
+        var ids = Set.copyOf(postIds);
+        if (ids.isEmpty() || ids.size() > maxPostIds) {
+            throw new InvalidLivePostIdsException(maxPostIds);
+        }
+
+        var subscriber = new Subscriber(new SseEmitter(timeout.toMillis()), ids);
+        subscriber.emitter().onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter().onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter().onError(e -> unsubscribe(subscriber));
+
+        connections.add(subscriber);
+        // 빈 집합을 지우는 unsubscribe 와 겹쳐도 구독이 사라지지 않도록 compute 안에서 추가한다.
+        ids.forEach(postId -> subscribers.compute(postId, (id, set) -> {
+            var postSubscribers = set == null ? ConcurrentHashMap.<Subscriber>newKeySet() : set;
+            postSubscribers.add(subscriber);
+            return postSubscribers;
+        }));
+        return subscriber.emitter();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LikeEvent event) {
+        add(PostCountDelta.ofLikes(event.postId(), event.delta()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReplyEvent event) {
+        add(PostCountDelta.ofReplies(event.postId(), event.delta()));
+    }
+
+    @Scheduled(fixedDelayString = "${fc-board.live-counts.window:PT0.5S}")
+    public void broadcast() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 구독자별로 구독 중인 게시물의 변화량을 모아 이벤트 하나로 보낸다.
+        var changed = new HashSet<Subscriber>();
+        for (var postId : pending.keySet()) {
+            var delta = pending.remove(postId);
+            if (delta == null || delta.isZero()) {
+                continue;
+            }
+
+            for (var subscriber : subscribers.getOrDefault(postId, Set.of())) {
+                subscriber.pending().merge(postId, delta, PostCountDelta::plus);
+                changed.add(subscriber);
+            }
+        }
+
+        changed.forEach(this::drain);
+    }
+
+    // 프록시 / 로드밸런서가 유휴 연결을 끊지 않도록, 끊긴 연결은 여기서 찾아 정리되도록 주기적으로 주석을 보낸다.
+    @Scheduled(fixedDelayString = "${fc-board.live-counts.heartbeat:PT30S}")
+    public void heartbeat() {
+        connections.forEach(subscriber -> {
+            subscriber.heartbeat().set(true);
+            drain(subscriber);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.forEach(subscriber -> subscriber.emitter().complete());
+        sender.shutdownNow();
+    }
+
+    private void add(PostCountDelta delta) {
+        if (subscribers.containsKey(delta.postId())) {
+            pending.merge(delta.postId(), delta, PostCountDelta::plus);
+        }
+    }
+
+    // 구독자에게 보낼 것이 있으면 전송 작업을 하나 띄운다. 이미 전송 중이면 그 작업이 끝나기 전에 다시 확인해서 보낸다.
+    private void drain(Subscriber subscriber) {
+        if (!subscriber.sending().compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            sender.execute(() -> {
+                try {
+                    // 보내는 동안 쌓인 변화량은 같은 작업에서 이어서 보낸다.
+                    while (connections.contains(subscriber)) {
+                        if (!sendPending(subscriber)) {
+                            break;
+                        }
+                    }
+                } finally {
+                    subscriber.sending().set(false);
+                }
+
+                // 플래그를 내리기 직전에 들어온 변화량이 남지 않도록 한 번 더 확인한다.
+                if (connections.contains(subscriber) && subscriber.hasPending()) {
+                    drain(subscriber);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 전송 대기열이 가득 찼거나 종료 중. 밀린 구독자는 끊고 클라이언트가 다시 연결하게 한다.
+            log.debug("Live count sender rejected, closing subscriber", e);
+            subscriber.sending().set(false);
+            subscriber.emitter().completeWithError(e);
+            unsubscribe(subscriber);
+        }
+    }
+
+    // 보낸 것이 있으면 true
+    private boolean sendPending(Subscriber subscriber) {
+        var deltas = new ArrayList<PostCountDelta>();
+        for (var postId : subscriber.pending().keySet()) {
+            var delta = subscriber.pending().remove(postId);
+            if (delta != null && !delta.isZero()) {
+                deltas.add(delta);
+            }
+        }
+        var heartbeat = subscriber.heartbeat().getAndSet(false);
+        if (deltas.isEmpty() && !heartbeat) {
+            return false;
+        }
+
+        try {
+            // 변화량을 보내면 연결이 살아 있는지도 확인되므로 주석은 따로 보내지 않는다.
+            subscriber.emitter().send(deltas.isEmpty()
+                    ? SseEmitter.event().comment("ping")
+                    : SseEmitter.event().name("counts").data(deltas));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 이미 끊긴 연결
+            log.debug("Failed to send live counts, closing subscriber", e);
+            subscriber.emitter().completeWithError(e);
+            unsubscribe(subscriber);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!connections.remove(subscriber)) {
+            return;
+        }
+
+        subscriber.postIds().forEach(postId -> subscribers.computeIfPresent(postId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+    }
+
+    // 연결마다 하나. 집합에서는 객체 자체로 구분한다.
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> postIds;
+        // 아직 보내지 못한 변화량. 구독한 게시물 수만큼만 커진다.
+        private final ConcurrentHashMap<Long, PostCountDelta> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean heartbeat = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<Long> postIds) {
+            this.emitter = emitter;
+            this.postIds = postIds;
+        }
+
+        private SseEmitter emitter() {
+            return emitter;
+        }
+
+        private Set<Long> postIds() {
+            return postIds;
+        }
+
+        private ConcurrentHashMap<Long, PostCountDelta> pending() {
+            return pending;
+        }
+
+        private AtomicBoolean heartbeat() {
+            return heartbeat;
+        }
+
+        private AtomicBoolean sending() {
+            return sending;
+        }
+
+        private boolean hasPending() {
+            return !pending.isEmpty() || heartbeat.get();
+        }
+    }
+}
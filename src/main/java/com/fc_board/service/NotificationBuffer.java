@@ -0,0 +1,192 @@
+package com.fc_board.service;
+
+import com.fc_board.model.bulk.IdPair;
+import com.fc_board.model.entity.NotificationActorEntity;
+import com.fc_board.model.entity.NotificationEntity;
+import com.fc_board.model.event.FollowEvent;
+import com.fc_board.model.event.LikeEvent;
+import com.fc_board.model.event.ReplyEvent;
+import com.fc_board.model.notification.NotificationType;
+import com.fc_board.repository.NotificationActorRepository;
+import com.fc_board.repository.NotificationRepository;
+import com.fc_board.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 팔로우 / 좋아요 / 댓글 이벤트를 커밋 이후 메모리 큐에 넣어 두었다가 주기적으로 알림을 한꺼번에 저장한다.
+// 요청 스레드는 큐에 넣기만 하므로 알림 저장이 응답 시간에 더해지지 않는다. 큐가 가득 차면 알림은 버린다. (best-effort)
+@Slf4j
+@Component
+public class NotificationBuffer {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationActorRepository notificationActorRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingNotification> queue;
+    private final int batchSize;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public NotificationBuffer(NotificationRepository notificationRepository,
+                              NotificationActorRepository notificationActorRepository,
+                              UserRepository userRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${fc-board.notification.queue-capacity:10000}") int queueCapacity,
+                              @Value("${fc-board.notification.batch-size:500}") int batchSize,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.notificationActorRepository = notificationActorRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("board.notification.queue.size", queue, Collection::size).register(registry);
+            FunctionCounter.builder("board.notification.dropped", dropped, AtomicLong::get).register(registry);
+        });
+    }
+
+    // 트랜잭션 밖에서 발행된 이벤트도 받도록 fallbackExecution 을 켠다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(FollowEvent event) {
+        if (event.followed()) {
+            offer(new PendingNotification(event.followingId(), NotificationType.FOLLOW, null, event.followerId(), event.followerUsername()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LikeEvent event) {
+        if (event.delta() > 0 && !event.postAuthorId().equals(event.userId())) {
+            offer(new PendingNotification(event.postAuthorId(), NotificationType.LIKE, event.postId(), event.userId(), event.username()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReplyEvent event) {
+        if (event.delta() > 0 && !event.postAuthorId().equals(event.userId())) {
+            offer(new PendingNotification(event.postAuthorId(), NotificationType.REPLY, event.postId(), event.userId(), event.username()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fc-board.notification.flush-interval:PT1S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            var batch = new ArrayList<PendingNotification>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void offer(PendingNotification notification) {
+        if (!queue.offer(notification) && dropped.getAndIncrement() % 1000 == 0) {
+            log.warn("Notification queue is full, dropped {} notifications so far", dropped.get());
+        }
+    }
+
+    private void write(List<PendingNotification> batch) {
+        // 같은 수신자의 같은 게시물 좋아요가 몰려도 한 행으로 합친다. 마지막 actor 가 대표로 보인다.
+        // actorCount 는 이벤트 수가 아니라 서로 다른 사용자 수다. 좋아요를 눌렀다 취소했다 다시 눌러도 한 명으로 센다.
+        var groups = new LinkedHashMap<GroupKey, Group>();
+        for (var notification : batch) {
+            groups.computeIfAbsent(GroupKey.of(notification), key -> new Group()).add(notification.actorId(), notification.actorUsername());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                var recipientIds = groups.keySet().stream().map(GroupKey::recipientId).collect(Collectors.toSet());
+                var groupKeys = groups.keySet().stream().map(GroupKey::groupKey).collect(Collectors.toSet());
+
+                // 아직 읽지 않은 같은 종류의 알림이 있으면 새로 만들지 않고 그 행에 더한다.
+                var unread = notificationRepository.findUnreadByUserIdInAndGroupKeyIn(recipientIds, groupKeys).stream()
+                        .collect(Collectors.toMap(
+                                notification -> new GroupKey(notification.getUser().getId(), notification.getGroupKey(), notification.getType(), notification.getPostId()),
+                                Function.identity(),
+                                (first, second) -> first));
+
+                // 읽지 않은 알림에 이미 세어진 사용자는 다시 세지 않는다.
+                var counted = unread.isEmpty()
+                        ? Set.<IdPair>of()
+                        : Set.copyOf(notificationActorRepository.findByNotificationIdInAndActorIdIn(
+                        unread.values().stream().map(NotificationEntity::getId).toList(),
+                        groups.values().stream().flatMap(group -> group.actorIds.stream()).collect(Collectors.toSet())));
+
+                var notifications = new ArrayList<NotificationEntity>(groups.size());
+                var actors = new ArrayList<NotificationActorEntity>();
+                groups.forEach((key, group) -> {
+                    var existing = unread.get(key);
+                    var newActorIds = group.actorIds.stream()
+                            .filter(actorId -> existing == null || !counted.contains(new IdPair(existing.getId(), actorId)))
+                            .toList();
+                    if (newActorIds.isEmpty()) {
+                        return;
+                    }
+
+                    var notification = existing != null
+                            ? existing
+                            : NotificationEntity.of(userRepository.getReferenceById(key.recipientId()), key.type(), key.postId());
+                    notification.addActors(newActorIds.size(), group.latestActorUsername);
+                    notifications.add(notification);
+                    for (var actorId : newActorIds) {
+                        actors.add(NotificationActorEntity.of(notification, actorId));
+                    }
+                });
+
+                notificationRepository.saveAll(notifications);
+                notificationActorRepository.saveAll(actors);
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} notifications, dropping them", batch.size(), e);
+        }
+    }
+
+    private record PendingNotification(Long recipientId, NotificationType type, Long postId, Long actorId, String actorUsername) {
+    }
+
+    private record GroupKey(Long recipientId, String groupKey, NotificationType type, Long postId) {
+
+        static GroupKey of(PendingNotification notification) {
+            return new GroupKey(notification.recipientId(), notification.type().groupKey(notification.postId()), notification.type(), notification.postId());
+        }
+    }
+
+    private static class Group {
+
+        private final Set<Long> actorIds = new LinkedHashSet<>();
+        private String latestActorUsername;
+
+        void add(Long actorId, String actorUsername) {
+            actorIds.add(actorId);
+            latestActorUsername = actorUsername;
+        }
+    }
+}
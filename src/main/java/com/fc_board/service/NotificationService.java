@@ -0,0 +1,48 @@
+package com.fc_board.service;
+
+import com.fc_board.model.entity.NotificationEntity;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.notification.Notification;
+import com.fc_board.model.page.Cursor;
+import com.fc_board.model.page.CursorPage;
+import com.fc_board.repository.NotificationActorRepository;
+import com.fc_board.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationActorRepository notificationActorRepository;
+
+    public CursorPage<Notification> getUnreadNotifications(String cursor, Integer size, UserEntity currentUser) {
+        var pageSize = CursorPage.clampSize(size);
+        var pageable = PageRequest.of(0, pageSize + 1);
+
+        List<NotificationEntity> notifications;
+
+        if (cursor != null && !cursor.isBlank()) {
+            var position = Cursor.decode(cursor);
+            notifications = notificationRepository.findUnreadByUserIdBefore(currentUser.getId(), position.createdDateTime(), position.id(), pageable);
+        } else {
+            notifications = notificationRepository.findUnreadByUserId(currentUser.getId(), pageable);
+        }
+
+        return CursorPage.of(notifications, pageSize, notification -> Cursor.of(notification.getCreatedDateTime(), notification.getId()))
+                .map(Notification::from);
+    }
+
+    // 읽은 알림에는 더 묶이지 않으므로 세어 둔 사용자 목록도 같이 지운다.
+    @Transactional
+    public int markAllAsRead(UserEntity currentUser) {
+        notificationActorRepository.deleteByUnreadNotificationsOf(currentUser.getId());
+        return notificationRepository.markAllAsRead(currentUser.getId(), ZonedDateTime.now());
+    }
+}
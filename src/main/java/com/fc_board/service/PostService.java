@@ -5,45 +5,116 @@ import com.fc_board.exception.user.UserNotAllowedException;
 import com.fc_board.exception.user.UserNotFoundException;
 import com.fc_board.model.entity.LikeEntity;
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.event.LikeEvent;
 import com.fc_board.model.post.Post;
 import com.fc_board.model.post.PostPatchRequestBody;
+import com.fc_board.model.post.PostProjection;
 import com.fc_board.model.post.PostRequestBody;
 import com.fc_board.model.entity.PostEntity;
+import com.fc_board.model.page.Cursor;
+import com.fc_board.model.page.CursorPage;
 import com.fc_board.repository.LikeRepository;
 import com.fc_board.repository.PostRepository;
 import com.fc_board.repository.UserRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final int LIKE_STATUS_CHUNK_SIZE = 1000;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final LikeRepository likeRepository;
+    private final LikeCounterBuffer likeCounterBuffer;
+    private final TimelineService timelineService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<Post> getPosts(UserEntity currentUser) {
-        var posts = postRepository.findAll();
-        return posts.stream()
-                .map(postEntity -> getPostWithLikingStatus(postEntity, currentUser))
-                .toList();
+    public CursorPage<Post> getPosts(String cursor, Integer size, UserEntity currentUser) {
+        var pageSize = CursorPage.clampSize(size);
+        var pageable = PageRequest.of(0, pageSize + 1);
+
+        List<PostProjection> posts;
+
+        if (cursor != null && !cursor.isBlank()) {
+            var position = Cursor.decode(cursor);
+            posts = postRepository.findFeedBefore(position.createdDateTime(), position.id(), pageable);
+        } else {
+            posts = postRepository.findFeed(pageable);
+        }
+
+        var page = CursorPage.of(posts, pageSize, post -> Cursor.of(post.createdDateTime(), post.postId()));
+        return new CursorPage<>(getPostsWithLikingStatus(page.items(), currentUser), page.next());
+    }
+
+    // 팔로우한 사용자들의 게시물. 타임라인에서 id 목록을 받아 한 번에 조회한다.
+    public CursorPage<Post> getTimeline(String cursor, Integer size, UserEntity currentUser) {
+        var pageSize = CursorPage.clampSize(size);
+        var beforePostId = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor).id() : null;
+
+        // 타임라인에 남아 있는 id 중 삭제(보관)된 게시물은 조회되지 않으므로, pageSize + 1 개가 찰 때까지 그 뒤를 더 읽는다.
+        // 빠진 만큼 페이지가 짧아져 next 없이 타임라인이 끝나 버리지 않도록 한다.
+        var posts = new ArrayList<PostProjection>();
+        while (posts.size() <= pageSize) {
+            var limit = pageSize + 1 - posts.size();
+            var postIds = timelineService.getPostIds(currentUser.getId(), beforePostId, limit);
+            if (postIds.isEmpty()) {
+                break;
+            }
+
+            var postsById = postRepository.findProjectionsByIdIn(postIds).stream()
+                    .collect(Collectors.toMap(PostProjection::postId, Function.identity()));
+            postIds.stream()
+                    .map(postsById::get)
+                    .filter(Objects::nonNull)
+                    .forEach(posts::add);
+
+            if (postIds.size() < limit) {
+                break;
+            }
+            beforePostId = postIds.get(postIds.size() - 1);
+        }
+
+        var page = CursorPage.of(posts, pageSize, post -> Cursor.of(post.createdDateTime(), post.postId()));
+        return new CursorPage<>(getPostsWithLikingStatus(page.items(), currentUser), page.next());
+    }
+
+    // 게시물 전체를 조회하지 않고 버전 컬럼과 좋아요 여부만으로 ETag 를 만든다.
+    public String getPostETag(Long postId, UserEntity currentUser) {
+        var version = postRepository.findVersionById(postId)
+                .orElseThrow(() -> new PostNotFoundException(postId));
+        var isLiking = likeRepository.existsByUserAndPostId(currentUser, postId);
+        var likesCount = Math.max(0, version.likesCount() + likeCounterBuffer.pendingDelta(postId));
+        return version.eTag(likesCount, isLiking);
     }
 
     public Post getPostByPostId(Long postId, UserEntity currentUser) {
-        var postEntity = postRepository.findById(postId)
+        var post = postRepository.findProjectionById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
-        return getPostWithLikingStatus(postEntity, currentUser);
+        var isLiking = likeRepository.existsByUserAndPostId(currentUser, postId);
+        return withPendingLikes(Post.from(post, isLiking));
     }
 
     public Post createPost(PostRequestBody postRequestBody, UserEntity currentUser) {
         var postEntity = postRepository.save(
                 PostEntity.of(postRequestBody.body(), currentUser)
         );
+        timelineService.fanOut(currentUser.getId(), currentUser.getFollowersCount(), postEntity.getId());
         return Post.from(postEntity);
     }
 
@@ -75,12 +146,12 @@ public class PostService {
         var userEntity = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
 
-        var postEntities = postRepository.findByUser(userEntity);
-        return postEntities.stream()
-                .map(postEntity -> getPostWithLikingStatus(postEntity, currentUser))
-                .toList();
+        var posts = postRepository.findProjectionsByUser(userEntity);
+        return getPostsWithLikingStatus(posts, currentUser);
     }
 
+    @Timed(value = "board.service", histogram = true)
+    @Counted("board.service.calls")
     @Transactional
     public Post toggleLike(Long postId, UserEntity currentUser) {
         var postEntity = postRepository.findById(postId)
@@ -88,19 +159,52 @@ public class PostService {
 
         Optional<LikeEntity> likeEntity = likeRepository.findByUserAndPost(currentUser, postEntity);
 
+        // likes_count 는 행을 직접 갱신하지 않고 LikeCounterBuffer 에 변화량만 남긴다. (커밋 후 반영)
         if (likeEntity.isPresent()) {
             likeRepository.delete(likeEntity.get());
-            postEntity.setLikesCount(Math.max(0, postEntity.getLikesCount() - 1));
-            return Post.from(postRepository.save(postEntity), false);
+            likeCounterBuffer.addAfterCommit(postId, -1);
+            eventPublisher.publishEvent(LikeEvent.of(postId, postEntity.getUser().getId(), currentUser.getId(), currentUser.getUsername(), -1,
+                    likeEntity.get().getCreatedDateTime()));
+            return Post.from(postEntity, false).withLikesCount(currentLikesCount(postEntity, -1));
         } else {
-            likeRepository.save(LikeEntity.of(currentUser, postEntity));
-            postEntity.setLikesCount(postEntity.getLikesCount() + 1);
-            return Post.from(postRepository.save(postEntity), true);
+            var savedLikeEntity = likeRepository.save(LikeEntity.of(currentUser, postEntity));
+            likeCounterBuffer.addAfterCommit(postId, 1);
+            eventPublisher.publishEvent(LikeEvent.of(postId, postEntity.getUser().getId(), currentUser.getId(), currentUser.getUsername(), 1,
+                    savedLikeEntity.getCreatedDateTime()));
+            return Post.from(postEntity, true).withLikesCount(currentLikesCount(postEntity, 1));
         }
     }
 
-    private Post getPostWithLikingStatus(PostEntity postEntity, UserEntity currentUser) {
-        var isLiking = likeRepository.findByUserAndPost(currentUser, postEntity).isPresent();
-        return Post.from(postEntity, isLiking);
+    private long currentLikesCount(PostEntity postEntity, long delta) {
+        return Math.max(0, postEntity.getLikesCount() + likeCounterBuffer.pendingDelta(postEntity.getId()) + delta);
+    }
+
+    // 저장된 likes_count 에 아직 flush 되지 않은 변화량을 더해서 보여준다.
+    private Post withPendingLikes(Post post) {
+        var pendingDelta = likeCounterBuffer.pendingDelta(post.postId());
+        return pendingDelta == 0 ? post : post.withLikesCount(Math.max(0, post.likesCount() + pendingDelta));
+    }
+
+    // 목록 전체의 좋아요 여부를 게시물마다 조회하지 않고 IN 쿼리 한 번(청크 단위)으로 확인
+    private List<Post> getPostsWithLikingStatus(List<PostProjection> posts, UserEntity currentUser) {
+        var likedPostIds = findLikedPostIds(posts.stream().map(PostProjection::postId).toList(), currentUser);
+        return posts.stream()
+                .map(post -> withPendingLikes(Post.from(post, Arrays.binarySearch(likedPostIds, post.postId()) >= 0)))
+                .toList();
+    }
+
+    // 정렬된 long[] 로 들고 있다가 binarySearch 로 확인한다. 요청 하나 동안만 쓰이는 작은 집합이라 박싱된 Set 을 만들 필요가 없다.
+    private long[] findLikedPostIds(List<Long> postIds, UserEntity currentUser) {
+        if (postIds.isEmpty()) {
+            return new long[0];
+        }
+
+        var likedPostIds = new ArrayList<Long>();
+        for (int from = 0; from < postIds.size(); from += LIKE_STATUS_CHUNK_SIZE) {
+            var chunk = postIds.subList(from, Math.min(from + LIKE_STATUS_CHUNK_SIZE, postIds.size()));
+            likedPostIds.addAll(likeRepository.findPostIdsByUserAndPostIdIn(currentUser, chunk));
+        }
+
+        return likedPostIds.stream().mapToLong(Long::longValue).sorted().toArray();
     }
 }
@@ -0,0 +1,77 @@
+package com.fc_board.service;
+
+import com.fc_board.model.entity.UserEntity;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// JwtAuthenticationFilter 가 요청마다 조회하는 인증 주체(UserEntity)를 username 기준으로 캐싱
+@Component
+public class PrincipalCache {
+
+    private final AsyncCache<String, UserEntity> cache;
+
+    public PrincipalCache(@Value("${fc-board.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${fc-board.principal-cache.ttl:PT5M}") Duration ttl,
+                          CacheLoadExecutor loadExecutor,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // 적재(DB 조회)는 캐시 내부 잠금 밖에서 돌도록 캐시 적재 전용 실행기에서 실행한다.
+                // spring.threads.virtual.enabled 에 따라 virtual thread 또는 플랫폼 스레드 풀이 된다.
+                .executor(loadExecutor.executor())
+                .buildAsync();
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "principal"));
+    }
+
+    // Cache.get(key, loader) 는 ConcurrentHashMap.compute 의 synchronized 안에서 loader 를 실행하므로
+    // virtual thread 가 JDBC 대기 동안 carrier 를 고정(pin)한다. future 만 잠금 안에서 넣고 조회는 밖에서 한다.
+    public UserEntity get(String username, Function<String, UserEntity> loader) {
+        try {
+            return cache.get(username, (key, executor) -> CompletableFuture.supplyAsync(() -> loader.apply(key), executor))
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋 전에 다른 요청이 이전 값을 다시 적재할 수 있으므로 트랜잭션 종료 후에도 한 번 더 비운다.
+    public void evict(String... usernames) {
+        for (var username : usernames) {
+            cache.synchronous().invalidate(username);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (var username : usernames) {
+                        cache.synchronous().invalidate(username);
+                    }
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
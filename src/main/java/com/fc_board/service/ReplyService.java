@@ -4,20 +4,30 @@ import com.fc_board.exception.post.PostNotFoundException;
 import com.fc_board.exception.reply.ReplyNotFoundException;
 import com.fc_board.exception.user.UserNotAllowedException;
 import com.fc_board.exception.user.UserNotFoundException;
-import com.fc_board.model.entity.PostEntity;
 import com.fc_board.model.entity.ReplyEntity;
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.event.ReplyEvent;
+import com.fc_board.model.page.Cursor;
+import com.fc_board.model.page.CursorPage;
+import com.fc_board.model.post.Post;
+import com.fc_board.model.post.PostProjection;
 import com.fc_board.model.reply.Reply;
 import com.fc_board.model.reply.ReplyPatchRequestBody;
+import com.fc_board.model.reply.ReplyProjection;
 import com.fc_board.model.reply.ReplyRequestBody;
 import com.fc_board.repository.PostRepository;
 import com.fc_board.repository.ReplyRepository;
 import com.fc_board.repository.UserRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,13 +36,28 @@ public class ReplyService {
     private final ReplyRepository replyRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<Reply> getRepliesByPostId(Long postId) {
-        PostEntity postEntity = postRepository.findById(postId).orElseThrow(() -> new PostNotFoundException(postId));
-        List<ReplyEntity> replyEntities = replyRepository.findByPost(postEntity);
-        return replyEntities.stream().map(Reply::from).toList();
+    public CursorPage<Reply> getRepliesByPostId(Long postId, String cursor, Integer size) {
+        var post = Post.from(postRepository.findProjectionById(postId).orElseThrow(() -> new PostNotFoundException(postId)));
+        var pageSize = CursorPage.clampSize(size);
+        var pageable = PageRequest.of(0, pageSize + 1);
+
+        List<ReplyProjection> replies;
+
+        if (cursor != null && !cursor.isBlank()) {
+            var position = Cursor.decode(cursor);
+            replies = replyRepository.findProjectionsByPostIdAfter(postId, position.createdDateTime(), position.id(), pageable);
+        } else {
+            replies = replyRepository.findProjectionsByPostId(postId, pageable);
+        }
+
+        return CursorPage.of(replies, pageSize, reply -> Cursor.of(reply.createdDateTime(), reply.replyId()))
+                .map(reply -> Reply.from(reply, post));
     }
 
+    @Timed(value = "board.service", histogram = true)
+    @Counted("board.service.calls")
     @Transactional
     public Reply createReply(Long postId, ReplyRequestBody replyRequestBody, UserEntity currentUser) {
         var postEntity = postRepository.findById(postId)
@@ -42,6 +67,8 @@ public class ReplyService {
 
         postEntity.setRepliesCount(postEntity.getRepliesCount() + 1);
         postRepository.save(postEntity);
+        eventPublisher.publishEvent(ReplyEvent.of(replyEntity.getId(), postId, postEntity.getUser().getId(), currentUser.getId(), currentUser.getUsername(), 1,
+                replyEntity.getCreatedDateTime()));
 
         return Reply.from(replyEntity);
     }
@@ -74,13 +101,40 @@ public class ReplyService {
 
         postEntity.setRepliesCount(Math.max(0, postEntity.getRepliesCount() - 1));
         postRepository.save(postEntity);
+        eventPublisher.publishEvent(ReplyEvent.of(replyId, postId, postEntity.getUser().getId(), currentUser.getId(), currentUser.getUsername(), -1,
+                replyEntity.getCreatedDateTime()));
     }
 
-    public List<Reply> getRepliesByUser(String username) {
+    public CursorPage<Reply> getRepliesByUser(String username, String cursor, Integer size) {
         var userEntity = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
+        var pageSize = CursorPage.clampSize(size);
+        var pageable = PageRequest.of(0, pageSize + 1);
+
+        List<ReplyProjection> replies;
+
+        if (cursor != null && !cursor.isBlank()) {
+            var position = Cursor.decode(cursor);
+            replies = replyRepository.findProjectionsByUserBefore(userEntity, position.createdDateTime(), position.id(), pageable);
+        } else {
+            replies = replyRepository.findProjectionsByUser(userEntity, pageable);
+        }
+
+        var page = CursorPage.of(replies, pageSize, reply -> Cursor.of(reply.createdDateTime(), reply.replyId()));
+        return new CursorPage<>(getRepliesWithPost(page.items()), page.next());
+    }
+
+    // 댓글이 달린 게시물을 댓글마다 지연 로딩하지 않고 postId 로 묶어서 한 번에 조회
+    private List<Reply> getRepliesWithPost(List<ReplyProjection> replies) {
+        var postIds = replies.stream().map(ReplyProjection::postId).distinct().toList();
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
 
-        var replyEntities = replyRepository.findByUser(userEntity);
-        return replyEntities.stream().map(Reply::from).toList();
+        var posts = postRepository.findProjectionsByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostProjection::postId, post -> Post.from(post)));
+        return replies.stream()
+                .map(reply -> Reply.from(reply, posts.get(reply.postId())))
+                .toList();
     }
 }
@@ -0,0 +1,77 @@
+package com.fc_board.service;
+
+import com.fc_board.repository.ArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BiFunction;
+
+// soft delete 된 지 retention 이 지난 행을 보관 테이블로 옮겨서 운영 테이블과 인덱스를 살아 있는 행 위주로 유지
+// batchSize 행씩 각자의 트랜잭션으로 옮기고, batch 사이에 쉬어서 운영 트래픽과 잠금 경합을 줄인다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "fc-board.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class SoftDeleteArchiveJob {
+
+    private final ArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration throttle;
+
+    public SoftDeleteArchiveJob(ArchiveRepository archiveRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${fc-board.archive.retention:P30D}") Duration retention,
+                                @Value("${fc-board.archive.batch-size:1000}") int batchSize,
+                                @Value("${fc-board.archive.throttle:PT0.1S}") Duration throttle) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.throttle = throttle;
+    }
+
+    @Scheduled(initialDelayString = "${fc-board.archive.initial-delay:PT15M}",
+            fixedDelayString = "${fc-board.archive.interval:PT1H}")
+    public void archive() {
+        var deletedBefore = Instant.now().minus(retention);
+
+        // 게시물을 먼저 옮겨야 그 게시물을 쓴 사용자도 참조가 없어져 같은 실행에서 옮겨질 수 있다.
+        var posts = archive("post", deletedBefore, archiveRepository::archivePosts);
+        var replies = archive("reply", deletedBefore, archiveRepository::archiveReplies);
+        var users = archive("user", deletedBefore, archiveRepository::archiveUsers);
+
+        log.info("Soft-delete archive finished: {} posts, {} replies, {} users", posts, replies, users);
+    }
+
+    private long archive(String tableName, Instant deletedBefore, BiFunction<Instant, Integer, Integer> mover) {
+        long archived = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            var moved = transactionTemplate.execute(status -> mover.apply(deletedBefore, batchSize));
+            archived += moved == null ? 0 : moved;
+
+            if (moved == null || moved < batchSize) {
+                break;
+            }
+            pause();
+        }
+
+        log.info("Archived {} rows from {}", archived, tableName);
+        return archived;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(throttle.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
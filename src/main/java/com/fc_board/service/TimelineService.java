@@ -0,0 +1,161 @@
+package com.fc_board.service;
+
+import com.fc_board.repository.FollowRepository;
+import com.fc_board.repository.PostRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+// 팔로우한 사용자들의 게시물로 구성되는 홈 타임라인 (fan-out-on-write)
+// 사용자마다 최근 게시물 id 를 고정 크기 링 버퍼에 담아두고, 게시물이 작성되면 작성자의 팔로워 타임라인에 id 를 밀어 넣는다.
+// 팔로워가 너무 많은 작성자는 밀어 넣지 않고 읽을 때 직접 조회한다 (fan-out-on-read).
+@Slf4j
+@Service
+public class TimelineService {
+
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final int capacity;
+    private final long fanOutFollowerLimit;
+
+    // 최근에 읽힌 사용자의 타임라인만 메모리에 유지. 없으면 DB 에서 다시 만든다.
+    private final AsyncCache<Long, Timeline> timelines;
+
+    public TimelineService(FollowRepository followRepository,
+                           PostRepository postRepository,
+                           @Value("${fc-board.timeline.capacity:200}") int capacity,
+                           @Value("${fc-board.timeline.maximum-users:100000}") long maximumUsers,
+                           @Value("${fc-board.timeline.fan-out-follower-limit:10000}") long fanOutFollowerLimit,
+                           CacheLoadExecutor loadExecutor) {
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.capacity = capacity;
+        this.fanOutFollowerLimit = fanOutFollowerLimit;
+        // DB 에서 다시 만드는 작업은 캐시 내부 잠금 밖(캐시 적재 전용 실행기)에서 실행한다. PrincipalCache 참고
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .executor(loadExecutor.executor())
+                .buildAsync();
+    }
+
+    // 요청 스레드와 분리해서 게시물 작성 응답 시간에 영향을 주지 않는다.
+    @Async
+    public void fanOut(Long authorId, Long authorFollowersCount, Long postId) {
+        if (authorFollowersCount != null && authorFollowersCount > fanOutFollowerLimit) {
+            return;
+        }
+
+        // 메모리에 올라와 있는 타임라인에만 넣는다. 나머지는 다음 조회 때 DB 에서 만들어지면서 이 게시물도 포함된다.
+        for (var followerId : followRepository.findFollowerIdsByFollowingId(authorId)) {
+            var timeline = timelines.synchronous().getIfPresent(followerId);
+            if (timeline != null) {
+                timeline.push(postId);
+            }
+        }
+    }
+
+    // 팔로우 관계가 바뀌면 다음 조회 때 다시 만든다.
+    // 트랜잭션 안에서 호출되면 커밋 전에 다른 조회가 이전 관계로 다시 만들 수 있으므로 트랜잭션 종료 후에도 한 번 더 비운다. (PrincipalCache.evict 와 같음)
+    public void invalidate(Long userId) {
+        timelines.synchronous().invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    timelines.synchronous().invalidate(userId);
+                }
+            });
+        }
+    }
+
+    // beforePostId 보다 오래된 게시물 id 를 최신순으로 최대 limit 개 반환
+    public List<Long> getPostIds(Long userId, Long beforePostId, int limit) {
+        var timeline = timelines.get(userId, (key, executor) -> CompletableFuture.supplyAsync(() -> load(key), executor))
+                .join();
+        var pushed = timeline.newestFirst();
+        var before = beforePostId == null ? Long.MAX_VALUE : beforePostId;
+
+        // 버퍼가 가득 찼는데 커서 이후로 남은 게시물이 limit 보다 적으면 덮어써진 게시물이 있을 수 있다.
+        // 이때는 버퍼 대신 DB 에서 키셋으로 읽는다. (fan-out 하지 않는 작성자의 게시물도 함께 나온다)
+        if (timeline.isFull() && countBefore(pushed, before) < limit) {
+            return postRepository.findTimelinePostIdsBefore(userId, before, PageRequest.of(0, limit));
+        }
+
+        var pulledAuthorIds = followRepository.findFollowingIdsWithFollowersCountAbove(userId, fanOutFollowerLimit);
+        var pulled = pulledAuthorIds.isEmpty()
+                ? new long[0]
+                : postRepository.findPostIdsByUserIdInBefore(pulledAuthorIds, before, PageRequest.of(0, limit))
+                .stream().mapToLong(Long::longValue).toArray();
+
+        return LongStream.concat(Arrays.stream(pushed), Arrays.stream(pulled))
+                .filter(postId -> postId < before)
+                .boxed()
+                .distinct()
+                .sorted((left, right) -> Long.compare(right, left))
+                .limit(limit)
+                .toList();
+    }
+
+    private static int countBefore(long[] newestFirst, long before) {
+        var count = 0;
+        for (int i = newestFirst.length - 1; i >= 0 && newestFirst[i] < before; i--) {
+            count++;
+        }
+        return count;
+    }
+
+    private Timeline load(Long userId) {
+        var timeline = new Timeline(capacity);
+        var postIds = postRepository.findTimelinePostIds(userId, PageRequest.of(0, capacity));
+        // 오래된 것부터 넣어야 링 버퍼에 최신 게시물이 남는다.
+        for (int i = postIds.size() - 1; i >= 0; i--) {
+            timeline.push(postIds.get(i));
+        }
+        return timeline;
+    }
+
+    // 고정 크기 링 버퍼. 가득 차면 가장 오래 전에 들어온 id 를 덮어쓴다.
+    private static final class Timeline {
+        private final long[] postIds;
+        private int next;
+        private int size;
+
+        private Timeline(int capacity) {
+            this.postIds = new long[capacity];
+        }
+
+        private synchronized void push(long postId) {
+            postIds[next] = postId;
+            next = (next + 1) % postIds.length;
+            size = Math.min(size + 1, postIds.length);
+        }
+
+        private synchronized boolean isFull() {
+            return size == postIds.length;
+        }
+
+        // fan-out 이 비동기라 들어온 순서와 작성 순서가 다를 수 있으므로 id 로 정렬해서 돌려준다.
+        private synchronized long[] newestFirst() {
+            var sorted = Arrays.copyOf(postIds, size);
+            Arrays.sort(sorted);
+            for (int left = 0, right = sorted.length - 1; left < right; left++, right--) {
+                var tmp = sorted[left];
+                sorted[left] = sorted[right];
+                sorted[right] = tmp;
+            }
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.fc_board.service;
+
+import com.fc_board.model.event.LikeEvent;
+import com.fc_board.model.event.ReplyEvent;
+import com.fc_board.model.page.CursorPage;
+import com.fc_board.model.post.Post;
+import com.fc_board.model.post.PostActivity;
+import com.fc_board.model.post.PostProjection;
+import com.fc_board.repository.LikeRepository;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.ReplyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 좋아요 / 댓글 이벤트로 게시물별 시간 감쇠 점수를 갱신하고, 상위 K 개를 메모리에 들고 있다가 그대로 응답한다.
+// forward decay: 기준 시각(landmark) 이후 t 초에 들어온 가중치 w 를 w * e^(λt) 로 더해 둔다.
+// 모든 점수가 같은 배율로 커지므로 감쇠를 위해 점수를 주기적으로 다시 계산할 필요 없이 순서를 비교할 수 있다.
+@Slf4j
+@Service
+public class TrendingService {
+
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double REPLY_WEIGHT = 2.0;
+
+    // e^(λt) 가 double 범위를 넘지 않도록, 반감기의 이 배수만큼 지나면 기준 시각을 옮기고 점수를 다시 맞춘다.
+    private static final int RESCALE_HALF_LIVES = 64;
+
+    private final PostRepository postRepository;
+    private final LikeRepository likeRepository;
+    private final ReplyRepository replyRepository;
+    private final LikeCounterBuffer likeCounterBuffer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration halfLife;
+    private final double lambda;
+    private final int topK;
+    private final int maxTracked;
+    private final Duration rebuildWindow;
+    private final Duration recheckInterval;
+
+    private final ConcurrentHashMap<Long, Double> scores = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // 점수 갱신은 읽기 잠금, 기준 시각 이동은 쓰기 잠금. 이동 중에 옛 기준으로 계산한 값이 섞이지 않게 한다.
+    private final ReentrantReadWriteLock landmarkLock = new ReentrantReadWriteLock();
+    private volatile Instant landmark = Instant.now();
+
+    // 응답에 그대로 쓰는 상위 K 개. refresh 때만 바뀐다.
+    private volatile List<Post> trending = List.of();
+    private volatile Instant refreshedAt = Instant.EPOCH;
+
+    public TrendingService(PostRepository postRepository,
+                           LikeRepository likeRepository,
+                           ReplyRepository replyRepository,
+                           LikeCounterBuffer likeCounterBuffer,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${fc-board.trending.half-life:PT6H}") Duration halfLife,
+                           @Value("${fc-board.trending.top-k:100}") int topK,
+                           @Value("${fc-board.trending.max-tracked:10000}") int maxTracked,
+                           @Value("${fc-board.trending.rebuild-window:P2D}") Duration rebuildWindow,
+                           @Value("${fc-board.trending.recheck-interval:PT1M}") Duration recheckInterval) {
+        this.postRepository = postRepository;
+        this.likeRepository = likeRepository;
+        this.replyRepository = replyRepository;
+        this.likeCounterBuffer = likeCounterBuffer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.halfLife = halfLife;
+        this.lambda = Math.log(2) / halfLife.toSeconds();
+        this.topK = topK;
+        this.maxTracked = maxTracked;
+        this.rebuildWindow = rebuildWindow;
+        this.recheckInterval = recheckInterval;
+    }
+
+    // DB 를 읽지 않는다. 목록은 refresh 에서 미리 만들어 둔다.
+    public List<Post> getTrendingPosts(Integer size) {
+        var posts = trending;
+        var limit = CursorPage.clampSize(size);
+        return posts.size() <= limit ? posts : posts.subList(0, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LikeEvent event) {
+        // 취소는 좋아요가 더해졌던 시각 기준으로 빼야 그때 더한 점수가 정확히 사라진다.
+        add(event.postId(), LIKE_WEIGHT * event.delta(), event.likedDateTime().toInstant());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReplyEvent event) {
+        add(event.postId(), REPLY_WEIGHT * event.delta(), event.repliedDateTime().toInstant());
+    }
+
+    // 재시작 후 최근 좋아요 / 댓글 행으로 점수를 다시 쌓는다. rebuildWindow 이전 활동은 이미 충분히 감쇠했다고 본다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var since = ZonedDateTime.now().minus(rebuildWindow);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var likes = likeRepository.streamActivitiesSince(since)) {
+                likes.forEach(activity -> add(activity, LIKE_WEIGHT));
+            }
+
+            try (var replies = replyRepository.streamActivitiesSince(since)) {
+                replies.forEach(activity -> add(activity, REPLY_WEIGHT));
+            }
+        });
+        log.info("Rebuilt trending scores for {} posts since {}", scores.size(), since);
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${fc-board.trending.refresh-interval:PT10S}")
+    public void refresh() {
+        rescaleIfNeeded();
+
+        // 점수가 바뀌지 않았으면 순서도 그대로다.
+        // 다만 삭제된 게시물이나 바뀐 본문 / 댓글 수는 점수 변화 없이 생기므로 recheckInterval 마다 목록을 다시 읽는다.
+        var now = Instant.now();
+        if (!dirty.getAndSet(false) && Duration.between(refreshedAt, now).compareTo(recheckInterval) < 0) {
+            return;
+        }
+        refreshedAt = now;
+
+        trim();
+
+        var top = topEntries(topK);
+        if (top.isEmpty()) {
+            trending = List.of();
+            return;
+        }
+
+        var projections = postRepository.findProjectionsByIdIn(top.stream().map(Map.Entry::getKey).toList()).stream()
+                .collect(Collectors.toMap(PostProjection::postId, Function.identity()));
+
+        var posts = new ArrayList<Post>(top.size());
+        for (var entry : top) {
+            var projection = projections.get(entry.getKey());
+            if (projection == null) {
+                // 삭제된 게시물
+                scores.remove(entry.getKey());
+                continue;
+            }
+            var likesCount = Math.max(0, projection.likesCount() + likeCounterBuffer.pendingDelta(projection.postId()));
+            posts.add(Post.from(projection).withLikesCount(likesCount));
+        }
+        trending = List.copyOf(posts);
+    }
+
+    private void add(PostActivity activity, double weight) {
+        add(activity.postId(), weight, activity.createdDateTime().toInstant());
+    }
+
+    private void add(Long postId, double weight, Instant at) {
+        landmarkLock.readLock().lock();
+        try {
+            var value = weight * Math.exp(lambda * Duration.between(landmark, at).toMillis() / 1000.0);
+            if (value > 0) {
+                scores.merge(postId, value, Double::sum);
+            } else {
+                // 좋아요 취소 / 댓글 삭제. 추적하지 않는 게시물은 새로 넣지 않는다.
+                scores.computeIfPresent(postId, (id, score) -> score + value > 0 ? score + value : null);
+            }
+        } finally {
+            landmarkLock.readLock().unlock();
+        }
+        dirty.set(true);
+    }
+
+    private void rescaleIfNeeded() {
+        var now = Instant.now();
+        if (Duration.between(landmark, now).compareTo(halfLife.multipliedBy(RESCALE_HALF_LIVES)) < 0) {
+            return;
+        }
+
+        landmarkLock.writeLock().lock();
+        try {
+            var factor = Math.exp(-lambda * Duration.between(landmark, now).toMillis() / 1000.0);
+            scores.replaceAll((postId, score) -> score * factor);
+            landmark = now;
+        } finally {
+            landmarkLock.writeLock().unlock();
+        }
+    }
+
+    // 추적하는 게시물 수를 maxTracked 로 제한한다. 점수가 낮은 것부터 버린다.
+    private void trim() {
+        if (scores.size() <= maxTracked) {
+            return;
+        }
+
+        var keep = topEntries(maxTracked).stream().map(Map.Entry::getKey).collect(Collectors.toSet());
+        scores.keySet().retainAll(keep);
+    }
+
+    // 크기 k 의 최소 힙으로 상위 k 개를 고른다. O(n log k)
+    private List<Map.Entry<Long, Double>> topEntries(int k) {
+        var heap = new PriorityQueue<Map.Entry<Long, Double>>(k + 1, Map.Entry.comparingByValue());
+        for (var entry : scores.entrySet()) {
+            heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        var top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        return top;
+    }
+}
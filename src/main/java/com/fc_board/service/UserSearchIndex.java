@@ -0,0 +1,233 @@
+package com.fc_board.service;
+
+import com.fc_board.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// username 검색용 인메모리 인덱스. LIKE '%q%' 로 "user" 테이블 전체를 훑지 않도록
+// 접두어 검색은 대소문자 무시 정렬된 TreeMap 으로, 부분 문자열 검색은 trigram -> slot 포스팅 리스트로 처리한다.
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private static final Comparator<String> USERNAME_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // username -> slot. 접두어 검색에 쓰인다.
+    private final TreeMap<String, Integer> slotsByUsername = new TreeMap<>(USERNAME_ORDER);
+
+    // slot -> username. 삭제된 slot 은 null 로 남기고 재사용하지 않는다.
+    private String[] usernames = new String[1024];
+    private int slotCount;
+
+    // 소문자 trigram(3 글자를 long 하나로 압축) -> 해당 trigram 을 가진 slot 목록 (오름차순)
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var started = System.currentTimeMillis();
+        long lastUserId = Long.MIN_VALUE;
+        int loaded = 0;
+
+        while (true) {
+            var batch = userRepository.findUsernamesAfter(lastUserId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            lock.writeLock().lock();
+            try {
+                batch.forEach(user -> addLocked(user.username()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            loaded += batch.size();
+            lastUserId = batch.get(batch.size() - 1).userId();
+        }
+
+        ready = true;
+        log.info("User search index loaded {} usernames in {} ms", loaded, System.currentTimeMillis() - started);
+    }
+
+    public void add(String username) {
+        lock.writeLock().lock();
+        try {
+            addLocked(username);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String username) {
+        lock.writeLock().lock();
+        try {
+            var slot = slotsByUsername.remove(username);
+            if (slot != null) {
+                // 포스팅 리스트에는 남겨두고 검색 시 null slot 을 건너뛴다.
+                usernames[slot] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 정확히 일치 > 접두어 일치 > 부분 일치 순으로, 같은 순위 안에서는 일치 위치가 앞설수록, 짧을수록 먼저 온다.
+    public List<String> search(String query, int limit) {
+        var normalized = query.strip();
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        var matches = new ArrayList<Match>();
+
+        lock.readLock().lock();
+        try {
+            collectPrefixMatches(normalized, matches);
+            if (normalized.length() >= 3) {
+                collectSubstringMatches(normalized, matches);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::rank)
+                        .thenComparingInt(Match::position)
+                        .thenComparingInt(match -> match.username().length())
+                        .thenComparing(Match::username, USERNAME_ORDER))
+                .limit(limit)
+                .map(Match::username)
+                .toList();
+    }
+
+    private void collectPrefixMatches(String query, List<Match> matches) {
+        var scanned = 0;
+        // 대소문자만 다른 이름 중에서는 대문자가 가장 앞에 오므로 대문자로 바꾼 query 부터 훑는다.
+        for (var username : slotsByUsername.tailMap(query.toUpperCase(Locale.ROOT), true).keySet()) {
+            if (!username.regionMatches(true, 0, query, 0, query.length()) || scanned++ >= MAX_CANDIDATES) {
+                break;
+            }
+            matches.add(new Match(username, username.length() == query.length() ? 0 : 1, 0));
+        }
+    }
+
+    private void collectSubstringMatches(String query, List<Match> matches) {
+        // 가장 짧은 포스팅 리스트만 훑고, 실제 포함 여부는 후보마다 다시 확인한다.
+        Postings smallest = null;
+        for (var trigram : trigrams(query)) {
+            var candidate = postings.get(trigram);
+            if (candidate == null) {
+                return;
+            }
+            if (smallest == null || candidate.size < smallest.size) {
+                smallest = candidate;
+            }
+        }
+
+        if (smallest == null) {
+            return;
+        }
+
+        var scanned = Math.min(smallest.size, MAX_CANDIDATES);
+        for (int i = 0; i < scanned; i++) {
+            var username = usernames[smallest.slots[i]];
+            if (username == null) {
+                continue;
+            }
+
+            var position = indexOfIgnoreCase(username, query);
+            // 접두어 일치(position 0)는 이미 접두어 검색에서 담았다.
+            if (position > 0) {
+                matches.add(new Match(username, 2, position));
+            }
+        }
+    }
+
+    private void addLocked(String username) {
+        if (slotsByUsername.containsKey(username)) {
+            return;
+        }
+
+        if (slotCount == usernames.length) {
+            usernames = Arrays.copyOf(usernames, usernames.length * 2);
+        }
+
+        var slot = slotCount++;
+        usernames[slot] = username;
+        slotsByUsername.put(username, slot);
+
+        for (var trigram : trigrams(username)) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+        }
+    }
+
+    private static long[] trigrams(String value) {
+        var lower = value.toLowerCase(Locale.ROOT);
+        if (lower.length() < 3) {
+            return new long[0];
+        }
+
+        var trigrams = new long[lower.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    private static int indexOfIgnoreCase(String value, String query) {
+        for (int i = 0; i + query.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, query, 0, query.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record Match(String username, int rank, int position) {
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fc_board.service;
 
 import com.fc_board.exception.follow.FollowAlreadyExistsException;
+import com.fc_board.exception.follow.FollowGraphNotReadyException;
 import com.fc_board.exception.follow.FollowNotFoundException;
 import com.fc_board.exception.follow.InvalidFollowException;
 import com.fc_board.exception.post.PostNotFoundException;
@@ -9,39 +10,60 @@ import com.fc_board.exception.user.UserNotAllowedException;
 import com.fc_board.exception.user.UserNotFoundException;
 import com.fc_board.model.entity.FollowEntity;
 import com.fc_board.model.entity.LikeEntity;
-import com.fc_board.model.entity.PostEntity;
 import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.event.FollowEvent;
+import com.fc_board.model.page.Cursor;
+import com.fc_board.model.page.CursorPage;
 import com.fc_board.model.user.*;
+import com.fc_board.repository.CounterRepository;
+import com.fc_board.repository.CounterRepository.FollowCountDelta;
 import com.fc_board.repository.FollowRepository;
 import com.fc_board.repository.LikeRepository;
 import com.fc_board.repository.PostRepository;
 import com.fc_board.repository.UserRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
 
+    private static final int FOLLOW_STATUS_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final FollowRepository followRepository;
+    private final CounterRepository counterRepository;
     private final PostRepository postRepository;
     private final LikeRepository likeRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
+    private final UserSearchIndex userSearchIndex;
+    private final TimelineService timelineService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FollowGraph followGraph;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(username));
+        return principalCache.get(username, key -> userRepository.findByUsername(key)
+                .orElseThrow(() -> new UserNotFoundException(key)));
     }
 
     public User signUp(String username, String password) {
@@ -49,15 +71,19 @@ public class UserService implements UserDetailsService {
             throw new UserAlreadyExistsException();
         });
 
-        var savedUserEntity = userRepository.save(UserEntity.of(username, passwordEncoder.encode(password)));
+        var savedUserEntity = userRepository.save(UserEntity.of(username, passwordHasher.encode(password)));
+        userSearchIndex.add(savedUserEntity.getUsername());
         return User.from(savedUserEntity);
     }
 
+    @Timed(value = "board.service", histogram = true)
+    @Counted("board.service.calls")
     public UserAuthenticationResponse authenticate(@NotBlank String username, @NotBlank String password) {
         var userEntity = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
 
-        if (passwordEncoder.matches(password, userEntity.getPassword())) {
+        if (passwordHasher.matches(password, userEntity.getPassword())) {
+            rehashIfNeeded(userEntity, password);
             var accessToken = jwtService.generateAccessToken(userEntity);
             return new UserAuthenticationResponse(accessToken);
         } else {
@@ -65,18 +91,20 @@ public class UserService implements UserDetailsService {
         }
     }
 
-    public List<User> getUsers(String query, UserEntity currentUser) {
+    public List<User> getUsers(String query, Integer size, UserEntity currentUser) {
         List<UserEntity> userEntities;
+        var limit = CursorPage.clampSize(size);
 
-        if (query != null && !query.isBlank()) {
-            userEntities = userRepository.findByUsernameContaining(query);
+        if (query != null && !query.isBlank() && userSearchIndex.isReady()) {
+            userEntities = searchUsers(query, limit);
+        } else if (query != null && !query.isBlank()) {
+            // 인덱스가 아직 적재 중이면 기존 LIKE 검색으로 처리
+            userEntities = userRepository.findByUsernameContainingOrderByIdAsc(query, PageRequest.of(0, limit));
         } else {
             userEntities = userRepository.findAll();
         }
 
-        return userEntities.stream()
-                .map(userEntity -> getUserWithFollowingStatus(currentUser, userEntity))
-                .toList();
+        return getUsersWithFollowingStatus(currentUser, userEntities);
     }
 
     public User getUser(String username, UserEntity currentUser) {
@@ -86,6 +114,14 @@ public class UserService implements UserDetailsService {
         return getUserWithFollowingStatus(currentUser, userEntity);
     }
 
+    // 사용자 전체를 조회하지 않고 버전 컬럼과 팔로우 여부만으로 ETag 를 만든다.
+    public String getUserETag(String username, UserEntity currentUser) {
+        var version = userRepository.findVersionByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException(username));
+        var isFollowing = followRepository.existsByFollowerAndFollowingId(currentUser, version.userId());
+        return version.eTag(isFollowing);
+    }
+
     public User updateUser(String username, UserPatchRequestBody requestBody, UserEntity currentUser) {
         var userEntity = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
@@ -98,9 +134,13 @@ public class UserService implements UserDetailsService {
             userEntity.setDescription(requestBody.description());
         }
 
-        return User.from(userRepository.save(userEntity));
+        var savedUserEntity = userRepository.save(userEntity);
+        principalCache.evict(username);
+        return User.from(savedUserEntity);
     }
 
+    @Timed(value = "board.service", histogram = true)
+    @Counted("board.service.calls")
     @Transactional
     public User follow(String username, UserEntity currentUser) {
         var following = userRepository.findByUsername(username)
@@ -118,14 +158,17 @@ public class UserService implements UserDetailsService {
 
         followRepository.save(FollowEntity.of(currentUser, following));
 
-        following.setFollowingsCount(following.getFollowingsCount() + 1);
-        currentUser.setFollowersCount(currentUser.getFollowersCount() + 1);
-
-        userRepository.saveAll(List.of(following, currentUser));
+        // 팔로우 대상은 팔로워가, 현재 사용자는 팔로잉이 하나 늘어난다.
+        addFollowCounts(currentUser, following, 1);
+        principalCache.evict(following.getUsername(), currentUser.getUsername());
+        timelineService.invalidate(currentUser.getId());
+        eventPublisher.publishEvent(FollowEvent.of(currentUser.getId(), currentUser.getUsername(), following.getId(), true));
 
-        return User.from(following, true);
+        return User.from(following, true).withFollowersCount(following.getFollowersCount() + 1);
     }
 
+    @Timed(value = "board.service", histogram = true)
+    @Counted("board.service.calls")
     @Transactional
     public User unFollow(String username, UserEntity currentUser) {
         var following = userRepository.findByUsername(username)
@@ -140,12 +183,12 @@ public class UserService implements UserDetailsService {
 
         followRepository.delete(followEntity);
 
-        following.setFollowingsCount(Math.max(0, following.getFollowingsCount() - 1));
-        currentUser.setFollowersCount(Math.max(0, currentUser.getFollowersCount() - 1));
+        addFollowCounts(currentUser, following, -1);
+        principalCache.evict(following.getUsername(), currentUser.getUsername());
+        timelineService.invalidate(currentUser.getId());
+        eventPublisher.publishEvent(FollowEvent.of(currentUser.getId(), currentUser.getUsername(), following.getId(), false));
 
-        userRepository.saveAll(List.of(following, currentUser));
-
-        return User.from(following, false);
+        return User.from(following, false).withFollowersCount(Math.max(0, following.getFollowersCount() - 1));
     }
 
     public List<Follower> getFollowersByUsername(String username, UserEntity currentUser) {
@@ -153,9 +196,11 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UserNotFoundException(username));
 
         var followEntities = followRepository.findByFollowing(following);
+        var followingIds = findFollowingIds(currentUser, followEntities.stream().map(follow -> follow.getFollower().getId()).toList());
         return followEntities.stream()
                 .map(follow -> Follower.from(
-                        getUserWithFollowingStatus(currentUser, follow.getFollower()), follow.getCreatedDateTime()
+                        User.from(follow.getFollower(), contains(followingIds, follow.getFollower().getId())),
+                        follow.getCreatedDateTime()
                 ))
                 .toList();
     }
@@ -165,30 +210,109 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UserNotFoundException(username));
 
         var followEntities = followRepository.findByFollower(follower);
-        return followEntities.stream()
-                .map(follow -> getUserWithFollowingStatus(currentUser, follow.getFollowing()))
-                .toList();
+        return getUsersWithFollowingStatus(currentUser, followEntities.stream().map(FollowEntity::getFollowing).toList());
     }
 
     public List<LikedUser> getLikedUsersByPostId(Long postId, UserEntity currentUser) {
         var postEntity = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
 
-        var postEntities = likeRepository.findByPost(postEntity);
-        return postEntities.stream()
-                .map(likeEntity -> getLikedUserWithFollowingStatus(likeEntity, postEntity, currentUser))
+        var likeEntities = likeRepository.findByPost(postEntity);
+        return getLikedUsersWithFollowingStatus(currentUser, likeEntities);
+    }
+
+    // 메모리의 팔로우 그래프에서 친구의 친구를 고른다. DB 는 추천된 사용자 정보를 읽을 때 한 번만 조회한다.
+    public List<SuggestedUser> getSuggestedUsers(String username, Integer size, UserEntity currentUser) {
+        var userEntity = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException(username));
+
+        // 적재 중에 빈 목록을 돌려주면 추천할 사용자가 없는 것과 구분되지 않는다. DB 로 대신 계산하기엔 너무 비싸다.
+        if (!followGraph.isLoaded()) {
+            throw new FollowGraphNotReadyException();
+        }
+
+        var suggestions = followGraph.suggest(userEntity.getId(), CursorPage.clampSize(size));
+        var users = userRepository.findAllById(suggestions.stream().map(FollowGraph.Suggestion::userId).toList()).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+        // 삭제된 사용자는 findAllById 에서 빠진다.
+        return suggestions.stream()
+                .filter(suggestion -> users.containsKey(suggestion.userId()))
+                .map(suggestion -> SuggestedUser.from(
+                        User.from(users.get(suggestion.userId()), followGraph.follows(currentUser.getId(), suggestion.userId())),
+                        suggestion.mutualCount()))
                 .toList();
     }
 
-    public List<LikedUser> getLikedUsersByUser(String username, UserEntity currentUser) {
+    public FollowRelationship getFollowRelationship(String username, UserEntity currentUser) {
+        var userEntity = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException(username));
+
+        if (followGraph.isLoaded()) {
+            return FollowRelationship.of(
+                    userEntity.getUsername(),
+                    followGraph.follows(currentUser.getId(), userEntity.getId()),
+                    followGraph.follows(userEntity.getId(), currentUser.getId()));
+        }
+
+        return FollowRelationship.of(
+                userEntity.getUsername(),
+                followRepository.existsByFollowerAndFollowingId(currentUser, userEntity.getId()),
+                followRepository.existsByFollowerAndFollowingId(userEntity, currentUser.getId()));
+    }
+
+    // 작성자의 모든 게시물에 달린 좋아요를 최신순으로 페이지 단위 조회. 팔로우 여부는 페이지마다 한 번에 확인한다.
+    public CursorPage<LikedUser> getLikedUsersByUser(String username, String cursor, Integer size, UserEntity currentUser) {
         var userEntity = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
+        var pageSize = CursorPage.clampSize(size);
+        var pageable = PageRequest.of(0, pageSize + 1);
+
+        List<LikedUserProjection> likedUsers;
 
-        var postEntities = postRepository.findByUser(userEntity);
-        return postEntities.stream()
-                .flatMap(postEntity -> likeRepository.findByPost(postEntity)
-                        .stream()
-                        .map(likeEntity -> getLikedUserWithFollowingStatus(likeEntity, postEntity, currentUser)))
+        if (cursor != null && !cursor.isBlank()) {
+            var position = Cursor.decode(cursor);
+            likedUsers = likeRepository.findLikedUsersByAuthorIdBefore(userEntity.getId(), position.createdDateTime(), position.id(), pageable);
+        } else {
+            likedUsers = likeRepository.findLikedUsersByAuthorId(userEntity.getId(), pageable);
+        }
+
+        var page = CursorPage.of(likedUsers, pageSize, likedUser -> Cursor.of(likedUser.likedDateTime(), likedUser.likeId()));
+        var followingIds = findFollowingIds(currentUser, page.items().stream().map(LikedUserProjection::userId).toList());
+        return page.map(likedUser -> LikedUser.from(likedUser, contains(followingIds, likedUser.userId())));
+    }
+
+    // currentUser 는 PrincipalCache 에 있던 엔티티라 최대 ttl 만큼 오래된 값일 수 있다.
+    // 엔티티를 저장하면 그 사이 다른 요청이나 보정 작업이 바꾼 카운터를 덮어쓰므로 "count = count + ?" 로만 갱신한다.
+    private void addFollowCounts(UserEntity follower, UserEntity following, long delta) {
+        var deltas = new TreeMap<Long, FollowCountDelta>();
+        deltas.put(following.getId(), new FollowCountDelta(delta, 0));
+        deltas.put(follower.getId(), new FollowCountDelta(0, delta));
+        counterRepository.addFollowCounts(deltas);
+    }
+
+    // cost 설정이 올라간 뒤 처음 로그인한 사용자의 해시를 새 cost 로 바꿔 저장
+    private void rehashIfNeeded(UserEntity userEntity, String password) {
+        if (!passwordHasher.upgradeEncoding(userEntity.getPassword())) {
+            return;
+        }
+
+        userRepository.updatePassword(userEntity.getId(), passwordHasher.encode(password));
+        principalCache.evict(userEntity.getUsername());
+    }
+
+    // 검색 인덱스가 매긴 순서대로 UserEntity 를 한 번에 조회
+    private List<UserEntity> searchUsers(String query, int limit) {
+        var usernames = userSearchIndex.search(query, limit);
+        if (usernames.isEmpty()) {
+            return List.of();
+        }
+
+        var userEntities = userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(UserEntity::getUsername, Function.identity()));
+        return usernames.stream()
+                .map(userEntities::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
@@ -199,10 +323,43 @@ public class UserService implements UserDetailsService {
         return User.from(userEntity, isFollowing);
     }
 
-    // 특정 게시물에 좋아요를 누른 사용자의 정보와 현재 사용자의 팔로우 상태, 좋아요가 생성된 시간을 포함한 LikedUser 객체를 반환
-    private LikedUser getLikedUserWithFollowingStatus(LikeEntity likeEntity, PostEntity postEntity, UserEntity currentUser) {
-        var likedUserEntity = likeEntity.getUser();
-        var userWithFollowingStatus = getUserWithFollowingStatus(currentUser, likedUserEntity);
-        return LikedUser.from(userWithFollowingStatus, postEntity.getId(), likeEntity.getCreatedDateTime());
+    // 목록의 팔로우 여부를 행마다 조회하지 않고 한 번에 확인하여 User 목록을 반환
+    private List<User> getUsersWithFollowingStatus(UserEntity currentUser, List<UserEntity> userEntities) {
+        var followingIds = findFollowingIds(currentUser, userEntities.stream().map(UserEntity::getId).toList());
+        return userEntities.stream()
+                .map(userEntity -> User.from(userEntity, contains(followingIds, userEntity.getId())))
+                .toList();
+    }
+
+    // 좋아요를 누른 사용자들의 정보와 현재 사용자의 팔로우 상태, 좋아요가 생성된 시간을 포함한 LikedUser 목록을 반환
+    private List<LikedUser> getLikedUsersWithFollowingStatus(UserEntity currentUser, List<LikeEntity> likeEntities) {
+        var followingIds = findFollowingIds(currentUser, likeEntities.stream().map(likeEntity -> likeEntity.getUser().getId()).toList());
+        return likeEntities.stream()
+                .map(likeEntity -> LikedUser.from(
+                        User.from(likeEntity.getUser(), contains(followingIds, likeEntity.getUser().getId())),
+                        likeEntity.getPost().getId(),
+                        likeEntity.getCreatedDateTime()
+                ))
+                .toList();
+    }
+
+    // currentUser 가 팔로우 중인 사용자 id 를 정렬된 배열로 반환. IN 절 파라미터 한도를 넘지 않도록 청크 단위로 조회한다.
+    private long[] findFollowingIds(UserEntity currentUser, List<Long> candidateIds) {
+        var userIds = candidateIds.stream().distinct().toList();
+        if (userIds.isEmpty()) {
+            return new long[0];
+        }
+
+        var followingIds = new ArrayList<Long>();
+        for (int from = 0; from < userIds.size(); from += FOLLOW_STATUS_CHUNK_SIZE) {
+            var chunk = userIds.subList(from, Math.min(from + FOLLOW_STATUS_CHUNK_SIZE, userIds.size()));
+            followingIds.addAll(followRepository.findFollowingIdsByFollowerAndFollowingIdIn(currentUser, chunk));
+        }
+
+        return followingIds.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static boolean contains(long[] sortedIds, Long id) {
+        return id != null && Arrays.binarySearch(sortedIds, id) >= 0;
     }
 }
@@ -0,0 +1,41 @@
+-- Hibernate(ddl-auto) 가 테이블을 만든 뒤 실행된다. (spring.jpa.defer-datasource-initialization)
+
+-- 엔티티 조회에는 항상 @SQLRestriction("deleted_date_time is null") 이 붙으므로 삭제되지 않은 행만 인덱싱한다.
+create index if not exists post_live_user_id_idx
+    on post (user_id) where deleted_date_time is null;
+create index if not exists post_live_created_date_time_post_id_idx
+    on post (created_date_time, post_id) where deleted_date_time is null;
+create index if not exists reply_live_user_id_created_date_time_reply_id_idx
+    on reply (user_id, created_date_time, reply_id) where deleted_date_time is null;
+create index if not exists reply_live_post_id_created_date_time_reply_id_idx
+    on reply (post_id, created_date_time, reply_id) where deleted_date_time is null;
+-- 재시작 후 인기 게시물 점수를 최근 댓글로 다시 쌓을 때 (TrendingService.rebuild). 좋아요 쪽은 LikeEntity 의 인덱스를 쓴다.
+create index if not exists reply_live_created_date_time_idx
+    on reply (created_date_time) where deleted_date_time is null;
+
+-- 보관 작업(SoftDeleteArchiveJob)이 오래전에 삭제된 행을 찾을 때 쓰는 인덱스. 삭제된 행만 담는다.
+create index if not exists post_deleted_date_time_idx
+    on post (deleted_date_time) where deleted_date_time is not null;
+create index if not exists reply_deleted_date_time_idx
+    on reply (deleted_date_time) where deleted_date_time is not null;
+create index if not exists user_deleted_date_time_idx
+    on "user" (deleted_date_time) where deleted_date_time is not null;
+
+-- 보관 테이블. 나중에 추가된 컬럼은 원본과 순서가 달라질 수 있으므로 ArchiveRepository 는 컬럼 이름을 적어서 옮긴다.
+-- 유니크 인덱스는 복사하지 않는다. (같은 username 이 다시 가입했다가 삭제될 수 있음)
+create table if not exists post_archive (like post including defaults);
+create table if not exists reply_archive (like reply including defaults);
+create table if not exists like_archive (like "like" including defaults);
+create table if not exists user_archive (like "user" including defaults);
+
+-- "like".post_author_id 는 나중에 추가된 컬럼이다. 그 전에 만든 보관 테이블에는 맨 뒤에 붙는다. (이미 보관된 행은 비워 둔다)
+-- "like" 테이블은 Hibernate 가 not null 로 만들므로 매번 채우는 update 는 두지 않는다.
+alter table like_archive add column if not exists post_author_id bigint;
+
+-- 알림은 읽지 않은 것만 조회하고 묶는다. 읽은 알림은 인덱스에서 빠진다.
+-- 페이지 키는 바뀌지 않는 created_date_time 이다. 예전 updated_date_time 인덱스는 지운다.
+drop index if exists notification_unread_user_id_updated_date_time_notification_id_idx;
+create index if not exists notification_unread_user_id_created_date_time_notification_id_idx
+    on notification (user_id, created_date_time, notification_id) where read_date_time is null;
+create unique index if not exists notification_unread_user_id_group_key_idx
+    on notification (user_id, group_key) where read_date_time is null;
@@ -0,0 +1,218 @@
+package com.fc_board.controller;
+
+import com.fc_board.model.entity.FollowEntity;
+import com.fc_board.model.entity.LikeEntity;
+import com.fc_board.model.entity.PostEntity;
+import com.fc_board.model.entity.ReplyEntity;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.repository.FollowRepository;
+import com.fc_board.repository.LikeRepository;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.ReplyRepository;
+import com.fc_board.repository.UserRepository;
+import com.fc_board.service.TimelineService;
+import com.fc_board.service.UserSearchIndex;
+import com.fc_board.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 목록 API 가 결과 건수에 비례해 쿼리를 날리면(N+1) 실패한다.
+// 같은 API 를 결과가 적은 경우와 많은 경우로 호출해 실행된 구문 수가 같고 상한을 넘지 않는지 확인
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountTest {
+
+    private static final int USER_COUNT = 21;
+    private static final int POPULAR_POST_COUNT = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    private Statistics statistics;
+    private UserEntity currentUser;
+    private PostEntity popularPost;
+    private PostEntity quietPost;
+
+    // user00: 게시물 30개, 팔로워 19명, 첫 게시물에 좋아요 20개/댓글 40개
+    // user01: 게시물 2개, 팔로워 1명, 첫 게시물에 좋아요 1개
+    // user02: 요청하는 사용자. user00, user01 을 팔로우하고 user00 의 모든 게시물에 댓글을 단다.
+    @BeforeAll
+    void seed() throws InterruptedException {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        while (!userSearchIndex.isReady()) {
+            Thread.sleep(10);
+        }
+
+        var users = new ArrayList<UserEntity>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            var username = String.format("user%02d", i);
+            userService.signUp(username, "password");
+            users.add(userRepository.findByUsername(username).orElseThrow());
+        }
+        var popular = users.get(0);
+        var quiet = users.get(1);
+        currentUser = users.get(2);
+
+        var popularPosts = new ArrayList<PostEntity>();
+        for (int i = 0; i < POPULAR_POST_COUNT; i++) {
+            popularPosts.add(PostEntity.of("popular post " + i, popular));
+        }
+        postRepository.saveAll(popularPosts);
+        var quietPosts = postRepository.saveAll(List.of(
+                PostEntity.of("quiet post 0", quiet),
+                PostEntity.of("quiet post 1", quiet)
+        ));
+        popularPost = popularPosts.get(0);
+        quietPost = quietPosts.get(0);
+
+        var follows = new ArrayList<FollowEntity>();
+        var likes = new ArrayList<LikeEntity>();
+        var replies = new ArrayList<ReplyEntity>();
+        for (var user : users.subList(1, USER_COUNT)) {
+            if (user != quiet) {
+                follows.add(FollowEntity.of(user, popular));
+            }
+            follows.add(FollowEntity.of(popular, user));
+            likes.add(LikeEntity.of(user, popularPost));
+            replies.add(ReplyEntity.of("reply 0 from " + user.getUsername(), user, popularPost));
+            replies.add(ReplyEntity.of("reply 1 from " + user.getUsername(), user, popularPost));
+        }
+        follows.add(FollowEntity.of(currentUser, quiet));
+        likes.add(LikeEntity.of(currentUser, quietPost));
+        for (var post : popularPosts.subList(1, POPULAR_POST_COUNT)) {
+            replies.add(ReplyEntity.of("reply to " + post.getBody(), currentUser, post));
+        }
+        followRepository.saveAll(follows);
+        likeRepository.saveAll(likes);
+        replyRepository.saveAll(replies);
+    }
+
+    Stream<Arguments> endpoints() {
+        return Stream.of(
+                Arguments.of("GET /posts",
+                        get("/api/v1/posts").param("size", "2"),
+                        get("/api/v1/posts").param("size", "30"),
+                        2),
+                Arguments.of("GET /posts/timeline",
+                        get("/api/v1/posts/timeline").param("size", "2"),
+                        get("/api/v1/posts/timeline").param("size", "30"),
+                        4),
+                Arguments.of("GET /posts/{postId}",
+                        get("/api/v1/posts/{postId}", quietPost.getId()),
+                        get("/api/v1/posts/{postId}", popularPost.getId()),
+                        4),
+                Arguments.of("GET /posts/{postId}/replies",
+                        get("/api/v1/posts/{postId}/replies", popularPost.getId()).param("size", "2"),
+                        get("/api/v1/posts/{postId}/replies", popularPost.getId()).param("size", "40"),
+                        2),
+                Arguments.of("GET /posts/{postId}/liked-users",
+                        get("/api/v1/posts/{postId}/liked-users", quietPost.getId()),
+                        get("/api/v1/posts/{postId}/liked-users", popularPost.getId()),
+                        3),
+                Arguments.of("GET /users",
+                        get("/api/v1/users").param("query", "user").param("size", "2"),
+                        get("/api/v1/users").param("query", "user").param("size", "21"),
+                        2),
+                Arguments.of("GET /users/{username}",
+                        get("/api/v1/users/{username}", "user01"),
+                        get("/api/v1/users/{username}", "user00"),
+                        4),
+                Arguments.of("GET /users/{username}/posts",
+                        get("/api/v1/users/{username}/posts", "user01"),
+                        get("/api/v1/users/{username}/posts", "user00"),
+                        3),
+                Arguments.of("GET /users/{username}/followers",
+                        get("/api/v1/users/{username}/followers", "user01"),
+                        get("/api/v1/users/{username}/followers", "user00"),
+                        3),
+                Arguments.of("GET /users/{username}/followings",
+                        get("/api/v1/users/{username}/followings", "user02"),
+                        get("/api/v1/users/{username}/followings", "user00"),
+                        3),
+                Arguments.of("GET /users/{username}/replies",
+                        get("/api/v1/users/{username}/replies", "user02").param("size", "2"),
+                        get("/api/v1/users/{username}/replies", "user02").param("size", "31"),
+                        3),
+                Arguments.of("GET /users/{username}/liked-users",
+                        get("/api/v1/users/{username}/liked-users", "user01"),
+                        get("/api/v1/users/{username}/liked-users", "user00"),
+                        3)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void statementCountDoesNotGrowWithResultSize(String endpoint,
+                                                 MockHttpServletRequestBuilder fewResults,
+                                                 MockHttpServletRequestBuilder manyResults,
+                                                 long maxStatements) throws Exception {
+        var fewResultsStatements = countStatements(fewResults);
+        var manyResultsStatements = countStatements(manyResults);
+
+        assertThat(manyResultsStatements)
+                .as("%s: statements for many results", endpoint)
+                .isEqualTo(fewResultsStatements)
+                .isLessThanOrEqualTo(maxStatements);
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        // 타임라인 캐시 적중 여부에 따라 구문 수가 달라지지 않도록 매번 비운다.
+        timelineService.invalidate(currentUser.getId());
+        statistics.clear();
+
+        mockMvc.perform(request.with(user(currentUser)))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,153 @@
+package com.fc_board.service;
+
+import com.fc_board.exception.user.UserNotAllowedException;
+import com.fc_board.model.entity.PostEntity;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.repository.CounterRepository;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+
+// batch 경계를 넘는 ref 와 batch 단위 롤백을 보려고 batch 를 2 줄로 줄인다.
+@SpringBootTest(properties = {
+        "fc-board.admin.usernames=import-admin,import-admin-refs,import-admin-fail",
+        "fc-board.bulk-import.batch-size=2",
+        "fc-board.bulk-import.max-refs=2"
+})
+@ActiveProfiles("test")
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @SpyBean
+    private CounterRepository counterRepository;
+
+    @Test
+    void importRows_rejectsNonAdmin() {
+        var user = signUp("import-not-admin");
+
+        assertThatThrownBy(() -> bulkImportService.importRows(ndjson(), user))
+                .isInstanceOf(UserNotAllowedException.class);
+    }
+
+    @Test
+    void importRows_validatesRowsResolvesRefsAndUpdatesCountersPerBatch() throws IOException {
+        var admin = signUp("import-admin");
+        var author = signUp("import-author");
+        signUp("import-reader");
+
+        var result = bulkImportService.importRows(ndjson(
+                "{\"type\":\"post\",\"username\":\"import-author\",\"body\":\"first\",\"ref\":\"p-1\"}",
+                "{\"type\":\"post\",\"username\":\"import-author\",\"body\":\"again\",\"ref\":\"p-1\"}",
+                // 이전 batch 에서 만든 ref
+                "{\"type\":\"like\",\"username\":\"import-reader\",\"postRef\":\"p-1\"}",
+                "{\"type\":\"like\",\"username\":\"import-reader\",\"postRef\":\"p-1\"}",
+                "{\"type\":\"follow\",\"follower\":\"import-reader\",\"following\":\"import-author\"}",
+                "{\"type\":\"follow\",\"follower\":\"import-reader\",\"following\":\"import-reader\"}",
+                "not json",
+                "",
+                "{\"type\":\"unknown\"}",
+                "{\"type\":\"post\",\"username\":\"import-nobody\",\"body\":\"lost\"}",
+                "{\"type\":\"post\",\"username\":\"import-author\",\"body\":\" \"}",
+                "{\"type\":\"like\",\"username\":\"import-reader\",\"postRef\":\"p-404\"}"
+        ), admin);
+
+        assertThat(result.lines()).isEqualTo(12);
+        assertThat(result.lastCommittedLine()).isEqualTo(12);
+        assertThat(result.posts()).isEqualTo(1);
+        assertThat(result.likes()).isEqualTo(1);
+        assertThat(result.follows()).isEqualTo(1);
+        assertThat(result.skipped()).isEqualTo(8);
+        assertThat(result.errors()).containsExactly(
+                "line 2: duplicate ref p-1",
+                "line 4: already liked",
+                "line 6: cannot follow self",
+                "line 7: malformed JSON",
+                "line 9: unknown type unknown",
+                "line 10: unknown username import-nobody",
+                "line 11: empty body",
+                "line 12: unknown post p-404");
+
+        var posts = postRepository.findByUser(author);
+        assertThat(posts).extracting(PostEntity::getBody).containsExactly("first");
+        assertThat(postRepository.findById(posts.get(0).getId()).orElseThrow().getLikesCount()).isEqualTo(1L);
+        assertThat(userRepository.findByUsername("import-author").orElseThrow().getFollowersCount()).isEqualTo(1L);
+        assertThat(userRepository.findByUsername("import-reader").orElseThrow().getFollowingsCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void importRows_skipsPostsPastRefLimit() throws IOException {
+        var admin = signUp("import-admin-refs");
+        var author = signUp("import-ref-author");
+
+        var result = bulkImportService.importRows(ndjson(
+                "{\"type\":\"post\",\"username\":\"import-ref-author\",\"body\":\"one\",\"ref\":\"r-1\"}",
+                "{\"type\":\"post\",\"username\":\"import-ref-author\",\"body\":\"two\",\"ref\":\"r-2\"}",
+                "{\"type\":\"post\",\"username\":\"import-ref-author\",\"body\":\"three\",\"ref\":\"r-3\"}",
+                "{\"type\":\"post\",\"username\":\"import-ref-author\",\"body\":\"four\"}"
+        ), admin);
+
+        assertThat(result.posts()).isEqualTo(3);
+        assertThat(result.errors()).containsExactly("line 3: too many refs (max 2)");
+        assertThat(postRepository.findByUser(author)).extracting(PostEntity::getBody)
+                .containsExactlyInAnyOrder("one", "two", "four");
+    }
+
+    @Test
+    void importRows_stopsAtFailedBatchAndReportsLastCommittedLine() throws IOException {
+        var admin = signUp("import-admin-fail");
+        var author = signUp("import-fail-author");
+        signUp("import-fail-reader");
+        willThrow(new DataIntegrityViolationException("boom")).given(counterRepository).addLikesCounts(any());
+
+        var result = bulkImportService.importRows(ndjson(
+                "{\"type\":\"post\",\"username\":\"import-fail-author\",\"body\":\"one\",\"ref\":\"f-1\"}",
+                "{\"type\":\"post\",\"username\":\"import-fail-author\",\"body\":\"two\"}",
+                "{\"type\":\"like\",\"username\":\"import-fail-reader\",\"postRef\":\"f-1\"}",
+                "{\"type\":\"post\",\"username\":\"import-fail-author\",\"body\":\"three\"}",
+                "{\"type\":\"post\",\"username\":\"import-fail-author\",\"body\":\"four\"}"
+        ), admin);
+
+        // 두 번째 batch 는 통째로 롤백되고 그 뒤 줄은 읽지 않는다.
+        assertThat(result.lines()).isEqualTo(4);
+        assertThat(result.lastCommittedLine()).isEqualTo(2);
+        assertThat(result.posts()).isEqualTo(2);
+        assertThat(result.likes()).isZero();
+        assertThat(result.errors()).singleElement().asString().startsWith("lines 3-4: batch rolled back");
+        assertThat(postRepository.findByUser(author)).extracting(PostEntity::getBody)
+                .containsExactlyInAnyOrder("one", "two");
+    }
+
+    private UserEntity signUp(String username) {
+        userService.signUp(username, "password");
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,202 @@
+package com.fc_board.service;
+
+import com.fc_board.model.bulk.IdPair;
+import com.fc_board.repository.FollowRepository;
+import com.fc_board.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+// CSR + overlay 구현을 간선 집합(Set<IdPair>)으로 만든 단순한 기준 구현과 비교한다.
+@ExtendWith(MockitoExtension.class)
+class FollowGraphTest {
+
+    private static final int USER_COUNT = 30;
+    private static final int NEW_USER_COUNT = 5;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // compact 기준을 바꿔 가며 적재 직후 / overlay 변경 / compact 이후가 모두 기준 구현과 같은지 본다.
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 1_000})
+    void matchesNaiveEdgeSetAfterLoadOverlayAndCompaction(int compactThreshold) {
+        var random = new Random(compactThreshold);
+        var userIds = new ArrayList<Long>();
+        for (long i = 1; i <= USER_COUNT; i++) {
+            userIds.add(i * 3);
+        }
+        var edges = randomEdges(random, userIds, 150);
+        var followGraph = loadedGraph(userIds, edges, compactThreshold);
+
+        // 적재 후에 처음 보는 사용자도 섞는다.
+        var allUserIds = new ArrayList<>(userIds);
+        for (long i = 0; i < NEW_USER_COUNT; i++) {
+            allUserIds.add(1_000 + i);
+        }
+        assertSameEdges(followGraph, edges, allUserIds);
+
+        for (int step = 0; step < 500; step++) {
+            var follower = allUserIds.get(random.nextInt(allUserIds.size()));
+            var following = allUserIds.get(random.nextInt(allUserIds.size()));
+            if (follower.equals(following)) {
+                continue;
+            }
+
+            if (random.nextBoolean()) {
+                followGraph.follow(follower, following);
+                edges.add(new IdPair(follower, following));
+            } else {
+                followGraph.unFollow(follower, following);
+                edges.remove(new IdPair(follower, following));
+            }
+
+            if (random.nextInt(10) == 0) {
+                followGraph.compact();
+            }
+
+            assertSameEdges(followGraph, edges, allUserIds);
+            assertSameSuggestions(followGraph, edges, allUserIds, allUserIds.get(random.nextInt(allUserIds.size())));
+        }
+    }
+
+    @Test
+    void suggest_ranksByMutualCountThenUserNumber() {
+        // 1 → 2, 3 / 2 → 4, 5 / 3 → 4, 6
+        var edges = new HashSet<>(Set.of(
+                new IdPair(1L, 2L), new IdPair(1L, 3L),
+                new IdPair(2L, 4L), new IdPair(2L, 5L),
+                new IdPair(3L, 4L), new IdPair(3L, 6L)));
+        var followGraph = loadedGraph(List.of(1L, 2L, 3L, 4L, 5L, 6L), edges, 1_000);
+
+        assertThat(followGraph.suggest(1L, 10)).containsExactly(
+                new FollowGraph.Suggestion(4L, 2),
+                new FollowGraph.Suggestion(5L, 1),
+                new FollowGraph.Suggestion(6L, 1));
+        assertThat(followGraph.suggest(1L, 1)).containsExactly(new FollowGraph.Suggestion(4L, 2));
+    }
+
+    @Test
+    void follow_doesNotWaitForLoadInProgress() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        given(userRepository.streamIds()).willAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(1L, 2L);
+        });
+        given(followRepository.count()).willReturn(0L);
+        given(followRepository.streamEdges()).willAnswer(invocation -> Stream.<IdPair>empty());
+        var followGraph = followGraph(1_000);
+
+        var load = CompletableFuture.runAsync(followGraph::load);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 적재가 mutationLock 을 잡고 있어도 바로 돌아오고, 변경은 적재가 끝난 뒤 반영된다.
+        CompletableFuture.runAsync(() -> followGraph.follow(1L, 2L)).get(1, TimeUnit.SECONDS);
+        assertThat(followGraph.follows(1L, 2L)).isFalse();
+
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+
+        assertThat(followGraph.isLoaded()).isTrue();
+        assertThat(followGraph.follows(1L, 2L)).isTrue();
+    }
+
+    private FollowGraph loadedGraph(List<Long> userIds, Set<IdPair> edges, int compactThreshold) {
+        var sortedEdges = edges.stream()
+                .sorted(Comparator.comparing(IdPair::left).thenComparing(IdPair::right))
+                .toList();
+        given(userRepository.streamIds()).willAnswer(invocation -> userIds.stream());
+        given(followRepository.count()).willReturn((long) sortedEdges.size());
+        given(followRepository.streamEdges()).willAnswer(invocation -> sortedEdges.stream());
+
+        var followGraph = followGraph(compactThreshold);
+        followGraph.load();
+        assertThat(followGraph.isLoaded()).isTrue();
+        return followGraph;
+    }
+
+    private FollowGraph followGraph(int compactThreshold) {
+        return new FollowGraph(userRepository, followRepository, transactionManager, compactThreshold,
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private static Set<IdPair> randomEdges(Random random, List<Long> userIds, int count) {
+        var edges = new HashSet<IdPair>();
+        for (int i = 0; i < count; i++) {
+            var follower = userIds.get(random.nextInt(userIds.size()));
+            var following = userIds.get(random.nextInt(userIds.size()));
+            if (!follower.equals(following)) {
+                edges.add(new IdPair(follower, following));
+            }
+        }
+        return edges;
+    }
+
+    private static void assertSameEdges(FollowGraph followGraph, Set<IdPair> edges, List<Long> userIds) {
+        for (var follower : userIds) {
+            for (var following : userIds) {
+                if (follower.equals(following)) {
+                    continue;
+                }
+                assertThat(followGraph.follows(follower, following))
+                        .as("%d -> %d", follower, following)
+                        .isEqualTo(edges.contains(new IdPair(follower, following)));
+                assertThat(followGraph.isMutual(follower, following))
+                        .isEqualTo(edges.contains(new IdPair(follower, following)) && edges.contains(new IdPair(following, follower)));
+            }
+        }
+    }
+
+    private static void assertSameSuggestions(FollowGraph followGraph, Set<IdPair> edges, List<Long> userIds, long userId) {
+        Map<Long, Integer> mutualCounts = new HashMap<>();
+        for (var following : userIds) {
+            if (!edges.contains(new IdPair(userId, following))) {
+                continue;
+            }
+            for (var candidate : userIds) {
+                if (candidate != userId && edges.contains(new IdPair(following, candidate)) && !edges.contains(new IdPair(userId, candidate))) {
+                    mutualCounts.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+
+        var suggestions = followGraph.suggest(userId, 100);
+        assertThat(suggestions).hasSize(mutualCounts.size());
+        assertThat(suggestions).allSatisfy(suggestion ->
+                assertThat(suggestion.mutualCount()).isEqualTo(mutualCounts.get(suggestion.userId())));
+        var counts = suggestions.stream().mapToInt(FollowGraph.Suggestion::mutualCount).toArray();
+        var sortedDescending = Arrays.stream(counts).boxed().sorted(Comparator.reverseOrder()).mapToInt(Integer::intValue).toArray();
+        assertThat(counts).containsExactly(sortedDescending);
+    }
+}
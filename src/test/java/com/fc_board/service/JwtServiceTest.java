@@ -0,0 +1,52 @@
+package com.fc_board.service;
+
+import com.fc_board.model.entity.UserEntity;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService(100);
+
+    @Test
+    void getUsername_returnsSubjectForRepeatedToken() {
+        var accessToken = jwtService.generateAccessToken(UserEntity.of("dereck", "password"));
+
+        assertThat(jwtService.getUsername(accessToken)).isEqualTo("dereck");
+        assertThat(jwtService.getUsername(accessToken)).isEqualTo("dereck");
+    }
+
+    @Test
+    void getUsername_rejectsTamperedTokenAfterOriginalIsCached() {
+        var accessToken = jwtService.generateAccessToken(UserEntity.of("dereck", "password"));
+        jwtService.getUsername(accessToken);
+
+        var parts = accessToken.split("\\.");
+        var forgedPayload = Jwts.builder().subject("admin").expiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact().split("\\.")[1];
+        var tamperedToken = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThatThrownBy(() -> jwtService.getUsername(tamperedToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void getUsername_rejectsExpiredToken() {
+        var key = (SecretKey) ReflectionTestUtils.getField(JwtService.class, "key");
+        var now = System.currentTimeMillis();
+        var expiredToken = Jwts.builder().subject("dereck").signWith(key)
+                .issuedAt(new Date(now - 120_000))
+                .expiration(new Date(now - 60_000))
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.getUsername(expiredToken)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
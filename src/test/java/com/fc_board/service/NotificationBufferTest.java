@@ -0,0 +1,81 @@
+package com.fc_board.service;
+
+import com.fc_board.model.entity.NotificationEntity;
+import com.fc_board.model.entity.PostEntity;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.event.LikeEvent;
+import com.fc_board.repository.NotificationRepository;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationBufferTest {
+
+    @Autowired
+    private NotificationBuffer notificationBuffer;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    void flush_countsDistinctActorsAcrossBatchesUntilRead() {
+        var author = signUp("notify-author");
+        var reader = signUp("notify-reader");
+        var other = signUp("notify-other");
+        var post = postRepository.save(PostEntity.of("notify post", author));
+
+        // 좋아요 → 취소 → 좋아요를 한 batch 안에서
+        like(post, reader);
+        like(post, reader);
+        like(post, other);
+        notificationBuffer.flush();
+        assertThat(unread(author)).extracting(NotificationEntity::getActorCount).containsExactly(2L);
+
+        // 이미 세어진 사용자가 다음 batch 에서 다시 눌러도 늘지 않는다.
+        like(post, reader);
+        notificationBuffer.flush();
+        assertThat(unread(author)).extracting(NotificationEntity::getActorCount).containsExactly(2L);
+
+        // 읽은 뒤에는 새 알림으로 다시 센다.
+        notificationService.markAllAsRead(author);
+        like(post, reader);
+        notificationBuffer.flush();
+        assertThat(unread(author)).extracting(NotificationEntity::getActorCount).containsExactly(1L);
+    }
+
+    private void like(PostEntity post, UserEntity user) {
+        notificationBuffer.on(LikeEvent.of(post.getId(), post.getUser().getId(), user.getId(), user.getUsername(), 1, ZonedDateTime.now()));
+    }
+
+    private List<NotificationEntity> unread(UserEntity user) {
+        return notificationRepository.findUnreadByUserId(user.getId(), PageRequest.of(0, 10));
+    }
+
+    private UserEntity signUp(String username) {
+        userService.signUp(username, "password");
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+}
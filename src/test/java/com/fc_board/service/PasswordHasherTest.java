@@ -0,0 +1,99 @@
+package com.fc_board.service;
+
+import com.fc_board.exception.user.PasswordHasherBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final BlockingPasswordEncoder passwordEncoder = new BlockingPasswordEncoder();
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.release.countDown();
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    void encode_andMatches_runOnHasherPool() {
+        passwordHasher = passwordHasher(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+
+        var encoded = passwordHasher.encode("password");
+
+        assertThat(passwordHasher.matches("password", encoded)).isTrue();
+        assertThat(passwordHasher.matches("other", encoded)).isFalse();
+    }
+
+    @Test
+    void matches_rejectsWithServiceUnavailableWhenQueueIsFull() throws Exception {
+        passwordHasher = passwordHasher(passwordEncoder, 1, 1, Duration.ofSeconds(5));
+
+        // 스레드 하나는 실행 중, 하나는 대기열에서 기다리게 만든다.
+        CompletableFuture.runAsync(() -> passwordHasher.matches("running", "hash"));
+        assertThat(passwordEncoder.started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> passwordHasher.matches("queued", "hash"));
+        awaitQueueSize(1);
+
+        assertThatThrownBy(() -> passwordHasher.matches("rejected", "hash"))
+                .isInstanceOfSatisfying(PasswordHasherBusyException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    void matches_rejectsWithServiceUnavailableOnTimeout() {
+        passwordHasher = passwordHasher(passwordEncoder, 1, 1, Duration.ofMillis(100));
+
+        assertThatThrownBy(() -> passwordHasher.matches("slow", "hash"))
+                .isInstanceOfSatisfying(PasswordHasherBusyException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private static PasswordHasher passwordHasher(BCryptPasswordEncoder passwordEncoder, int threads, int queueCapacity, Duration timeout) {
+        return new PasswordHasher(passwordEncoder, threads, queueCapacity, timeout,
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        var executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHasher, "executor");
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueue().size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getQueue()).hasSize(size);
+    }
+
+    // release 전까지 검증을 끝내지 않아 풀과 대기열을 채운다.
+    private static final class BlockingPasswordEncoder extends BCryptPasswordEncoder {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.fc_board.service;
+
+import com.fc_board.repository.FollowRepository;
+import com.fc_board.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CacheLoadExecutor cacheLoadExecutor;
+
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        // 링 버퍼 크기 3. 적재는 호출 스레드에서 바로 실행한다.
+        given(cacheLoadExecutor.executor()).willReturn(Runnable::run);
+        timelineService = new TimelineService(followRepository, postRepository, 3, 100, 10_000, cacheLoadExecutor);
+        // DB 로 넘어가는 경우에는 조회하지 않는다.
+        lenient().when(followRepository.findFollowingIdsWithFollowersCountAbove(eq(USER_ID), anyLong())).thenReturn(List.of());
+    }
+
+    @Test
+    void getPostIds_servesFromBufferWhileCursorIsInsideIt() {
+        given(postRepository.findTimelinePostIds(USER_ID, PageRequest.of(0, 3))).willReturn(List.of(50L, 40L, 30L));
+
+        assertThat(timelineService.getPostIds(USER_ID, null, 2)).containsExactly(50L, 40L);
+        assertThat(timelineService.getPostIds(USER_ID, 50L, 2)).containsExactly(40L, 30L);
+
+        verify(postRepository, never()).findTimelinePostIdsBefore(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getPostIds_fallsBackToKeysetQueryPastOldestBufferedPost() {
+        given(postRepository.findTimelinePostIds(USER_ID, PageRequest.of(0, 3))).willReturn(List.of(50L, 40L, 30L));
+        given(postRepository.findTimelinePostIdsBefore(USER_ID, 30L, PageRequest.of(0, 2))).willReturn(List.of(20L, 10L));
+        given(postRepository.findTimelinePostIdsBefore(USER_ID, 40L, PageRequest.of(0, 2))).willReturn(List.of(30L, 20L));
+
+        // 버퍼의 가장 오래된 게시물 이후 페이지
+        assertThat(timelineService.getPostIds(USER_ID, 30L, 2)).containsExactly(20L, 10L);
+        // 버퍼에 일부만 남아 있는 페이지
+        assertThat(timelineService.getPostIds(USER_ID, 40L, 2)).containsExactly(30L, 20L);
+    }
+
+    @Test
+    void getPostIds_doesNotQueryWhenBufferHoldsWholeTimeline() {
+        given(postRepository.findTimelinePostIds(USER_ID, PageRequest.of(0, 3))).willReturn(List.of(50L, 40L));
+
+        // 버퍼가 가득 차지 않았으면 더 오래된 게시물이 없다.
+        assertThat(timelineService.getPostIds(USER_ID, 40L, 2)).isEmpty();
+
+        verify(postRepository, never()).findTimelinePostIdsBefore(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void invalidate_evictsAgainAfterTransactionCompletes() {
+        given(postRepository.findTimelinePostIds(USER_ID, PageRequest.of(0, 3)))
+                .willReturn(List.of(50L), List.of(50L), List.of(60L, 50L));
+        timelineService.getPostIds(USER_ID, null, 2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            timelineService.invalidate(USER_ID);
+            // 커밋 전에 다른 조회가 이전 관계로 다시 만든 타임라인
+            assertThat(timelineService.getPostIds(USER_ID, null, 2)).containsExactly(50L);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(timelineService.getPostIds(USER_ID, null, 2)).containsExactly(60L, 50L);
+        verify(postRepository, times(3)).findTimelinePostIds(USER_ID, PageRequest.of(0, 3));
+    }
+}
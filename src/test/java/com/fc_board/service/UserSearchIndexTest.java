@@ -0,0 +1,102 @@
+package com.fc_board.service;
+
+import com.fc_board.model.user.UsernameProjection;
+import com.fc_board.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        userSearchIndex = new UserSearchIndex(userRepository);
+    }
+
+    @Test
+    void rebuild_loadsAllBatchesAndMarksReady() {
+        given(userRepository.findUsernamesAfter(eq(Long.MIN_VALUE), any()))
+                .willReturn(List.of(new UsernameProjection(1L, "alice"), new UsernameProjection(2L, "bob")));
+        given(userRepository.findUsernamesAfter(eq(2L), any()))
+                .willReturn(List.of(new UsernameProjection(3L, "carol")));
+        given(userRepository.findUsernamesAfter(eq(3L), any())).willReturn(List.of());
+
+        assertThat(userSearchIndex.isReady()).isFalse();
+
+        userSearchIndex.rebuild();
+
+        assertThat(userSearchIndex.isReady()).isTrue();
+        assertThat(userSearchIndex.search("carol", 20)).containsExactly("carol");
+        assertThat(userSearchIndex.search("bo", 20)).containsExactly("bob");
+    }
+
+    @Test
+    void search_ranksExactThenPrefixThenSubstring() {
+        given(userRepository.findUsernamesAfter(anyLong(), any())).willReturn(List.of());
+        userSearchIndex.rebuild();
+        List.of("xxjohn", "johnny", "john", "ajohn", "John_doe").forEach(userSearchIndex::add);
+
+        // 정확히 일치 > 접두어(짧은 순) > 부분 일치(앞선 위치 순)
+        assertThat(userSearchIndex.search("john", 20))
+                .containsExactly("john", "johnny", "John_doe", "ajohn", "xxjohn");
+        assertThat(userSearchIndex.search("john", 2)).containsExactly("john", "johnny");
+    }
+
+    @Test
+    void search_usesOnlyPrefixForShortQueries() {
+        List.of("jo", "joe", "ajoe").forEach(userSearchIndex::add);
+
+        // 3 글자 미만은 trigram 이 없어서 부분 일치를 찾지 않는다.
+        assertThat(userSearchIndex.search("jo", 20)).containsExactly("jo", "joe");
+        assertThat(userSearchIndex.search("joe", 20)).containsExactly("joe", "ajoe");
+    }
+
+    @Test
+    void search_ignoresCase() {
+        userSearchIndex.add("FastCampus");
+
+        assertThat(userSearchIndex.search("fast", 20)).containsExactly("FastCampus");
+        assertThat(userSearchIndex.search("CAMP", 20)).containsExactly("FastCampus");
+    }
+
+    @Test
+    void search_findsPrefixMatchesThatSortBeforeQuery() {
+        List.of("Dereck", "dereck", "DERECK_jun", "dereckjun").forEach(userSearchIndex::add);
+
+        // "Dereck" 은 자연 순서로 "dereck" 보다 앞이지만 정확히 일치로 나와야 한다.
+        assertThat(userSearchIndex.search("dereck", 20))
+                .containsExactly("Dereck", "dereck", "dereckjun", "DERECK_jun");
+        assertThat(userSearchIndex.search("erec", 20))
+                .containsExactly("Dereck", "dereck", "dereckjun", "DERECK_jun");
+    }
+
+    @Test
+    void remove_hidesUsernameFromPrefixAndSubstringSearch() {
+        List.of("alice", "malice").forEach(userSearchIndex::add);
+
+        userSearchIndex.remove("malice");
+
+        assertThat(userSearchIndex.search("alice", 20)).containsExactly("alice");
+        assertThat(userSearchIndex.search("mal", 20)).isEmpty();
+
+        // 같은 이름으로 다시 가입하면 새 slot 으로 검색된다.
+        userSearchIndex.add("malice");
+        assertThat(userSearchIndex.search("alice", 20)).containsExactly("alice", "malice");
+    }
+}
@@ -0,0 +1,274 @@
+package com.fc_board.service;
+
+import com.fc_board.model.entity.FollowEntity;
+import com.fc_board.model.entity.LikeEntity;
+import com.fc_board.model.entity.PostEntity;
+import com.fc_board.model.entity.UserEntity;
+import com.fc_board.model.user.LikedUserProjection;
+import com.fc_board.repository.CounterRepository;
+import com.fc_board.repository.CounterRepository.FollowCountDelta;
+import com.fc_board.repository.FollowRepository;
+import com.fc_board.repository.LikeRepository;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private CounterRepository counterRepository;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @InjectMocks
+    private UserService userService;
+
+    private final UserEntity currentUser = user(0L);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 500})
+    void getUsers_resolvesFollowStatusWithSingleQuery(int size) {
+        var users = users(size);
+        given(userRepository.findAll()).willReturn(users);
+        given(followRepository.findFollowingIdsByFollowerAndFollowingIdIn(eq(currentUser), anyCollection()))
+                .willReturn(List.of(1L));
+
+        var result = userService.getUsers(null, null, currentUser);
+
+        assertThat(result).hasSize(size);
+        assertThat(result.get(0).isFollowing()).isTrue();
+        assertThat(result.subList(1, size)).noneMatch(user -> user.isFollowing());
+        assertSingleFollowStatusQuery();
+    }
+
+    @Test
+    void getUsers_limitsLikeFallbackToClampedSize() {
+        given(userRepository.findByUsernameContainingOrderByIdAsc("user", PageRequest.of(0, 100))).willReturn(List.of());
+
+        // 인덱스가 적재 중이면 LIKE 검색도 size 만큼만 읽는다.
+        userService.getUsers("user", 500, currentUser);
+
+        verify(userRepository).findByUsernameContainingOrderByIdAsc("user", PageRequest.of(0, 100));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 500})
+    void getFollowersByUsername_resolvesFollowStatusWithSingleQuery(int size) {
+        var target = user(-1L);
+        var follows = users(size).stream().map(follower -> FollowEntity.of(follower, target)).toList();
+        given(userRepository.findByUsername("user-1")).willReturn(Optional.of(target));
+        given(followRepository.findByFollowing(target)).willReturn(follows);
+        given(followRepository.findFollowingIdsByFollowerAndFollowingIdIn(eq(currentUser), anyCollection()))
+                .willReturn(List.of());
+
+        var result = userService.getFollowersByUsername("user-1", currentUser);
+
+        assertThat(result).hasSize(size);
+        assertSingleFollowStatusQuery();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 500})
+    void getFollowingsByUsername_resolvesFollowStatusWithSingleQuery(int size) {
+        var target = user(-1L);
+        var follows = users(size).stream().map(following -> FollowEntity.of(target, following)).toList();
+        given(userRepository.findByUsername("user-1")).willReturn(Optional.of(target));
+        given(followRepository.findByFollower(target)).willReturn(follows);
+        given(followRepository.findFollowingIdsByFollowerAndFollowingIdIn(eq(currentUser), anyCollection()))
+                .willReturn(List.of());
+
+        var result = userService.getFollowingsByUsername("user-1", currentUser);
+
+        assertThat(result).hasSize(size);
+        assertSingleFollowStatusQuery();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 500})
+    void getLikedUsersByPostId_resolvesFollowStatusWithSingleQuery(int size) {
+        var post = post(1L, user(-1L));
+        var likes = users(size).stream().map(user -> LikeEntity.of(user, post)).toList();
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+        given(likeRepository.findByPost(post)).willReturn(likes);
+        given(followRepository.findFollowingIdsByFollowerAndFollowingIdIn(eq(currentUser), anyCollection()))
+                .willReturn(List.of());
+
+        var result = userService.getLikedUsersByPostId(1L, currentUser);
+
+        assertThat(result).hasSize(size);
+        assertThat(result).allMatch(likedUser -> likedUser.likedPostId().equals(1L));
+        assertSingleFollowStatusQuery();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 100})
+    void getLikedUsersByUser_readsOnePageWithSingleQuery(int size) {
+        var author = user(-1L);
+        // 다음 페이지 여부를 알기 위해 size + 1 행을 읽는다.
+        var likedUsers = LongStream.rangeClosed(1, size + 1).mapToObj(id -> likedUser(id, id % 10)).toList();
+        given(userRepository.findByUsername("user-1")).willReturn(Optional.of(author));
+        given(likeRepository.findLikedUsersByAuthorId(eq(-1L), any())).willReturn(likedUsers);
+        given(followRepository.findFollowingIdsByFollowerAndFollowingIdIn(eq(currentUser), anyCollection()))
+                .willReturn(List.of(1L));
+
+        var result = userService.getLikedUsersByUser("user-1", null, size, currentUser);
+
+        assertThat(result.items()).hasSize(size);
+        assertThat(result.items().get(0).isFollowing()).isTrue();
+        assertThat(result.next()).isNotNull();
+        verify(likeRepository, times(1)).findLikedUsersByAuthorId(eq(-1L), any());
+        verify(likeRepository, never()).findByPost(any());
+        assertSingleFollowStatusQuery();
+    }
+
+    // 예전 cost 로 저장된 해시는 로그인에 성공했을 때 password 컬럼만 갱신한다.
+    @Test
+    void authenticate_rehashesOutdatedPasswordWithTargetedUpdate() {
+        var userEntity = user(1L);
+        given(userRepository.findByUsername("user1")).willReturn(Optional.of(userEntity));
+        given(passwordHasher.matches("raw-password", "password")).willReturn(true);
+        given(passwordHasher.upgradeEncoding("password")).willReturn(true);
+        given(passwordHasher.encode("raw-password")).willReturn("rehashed-password");
+        given(jwtService.generateAccessToken(userEntity)).willReturn("access-token");
+
+        var result = userService.authenticate("user1", "raw-password");
+
+        assertThat(result.accessToken()).isEqualTo("access-token");
+        verify(userRepository).updatePassword(1L, "rehashed-password");
+        verify(userRepository, never()).save(any());
+        verify(principalCache).evict("user1");
+    }
+
+    @Test
+    void authenticate_skipsRehashWhenPasswordIsUpToDate() {
+        var userEntity = user(1L);
+        given(userRepository.findByUsername("user1")).willReturn(Optional.of(userEntity));
+        given(passwordHasher.matches("raw-password", "password")).willReturn(true);
+        given(passwordHasher.upgradeEncoding("password")).willReturn(false);
+        given(jwtService.generateAccessToken(userEntity)).willReturn("access-token");
+
+        userService.authenticate("user1", "raw-password");
+
+        verify(passwordHasher, never()).encode(any());
+        verify(userRepository, never()).updatePassword(any(), any());
+        verifyNoInteractions(principalCache);
+    }
+
+    // 캐시된 principal 을 저장하면 그 사이 바뀐 카운터를 덮어쓰므로 카운터는 SQL 로만 증감해야 한다.
+    @Test
+    void follow_updatesCountersWithoutSavingCachedPrincipal() {
+        var target = user(1L);
+        given(userRepository.findByUsername("user1")).willReturn(Optional.of(target));
+        given(followRepository.findByFollowerAndFollowing(currentUser, target)).willReturn(Optional.empty());
+
+        var result = userService.follow("user1", currentUser);
+
+        verify(counterRepository).addFollowCounts(new TreeMap<>(Map.of(
+                1L, new FollowCountDelta(1, 0),
+                0L, new FollowCountDelta(0, 1))));
+        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAll(any());
+        assertThat(currentUser.getFollowingsCount()).isZero();
+        assertThat(result.followersCount()).isEqualTo(1L);
+        verify(principalCache).evict("user1", "user0");
+    }
+
+    @Test
+    void unFollow_updatesCountersWithoutSavingCachedPrincipal() {
+        var target = user(1L);
+        target.setFollowersCount(3L);
+        given(userRepository.findByUsername("user1")).willReturn(Optional.of(target));
+        given(followRepository.findByFollowerAndFollowing(currentUser, target)).willReturn(Optional.of(FollowEntity.of(currentUser, target)));
+
+        var result = userService.unFollow("user1", currentUser);
+
+        verify(counterRepository).addFollowCounts(new TreeMap<>(Map.of(
+                1L, new FollowCountDelta(-1, 0),
+                0L, new FollowCountDelta(0, -1))));
+        verify(userRepository, never()).saveAll(any());
+        assertThat(target.getFollowersCount()).isEqualTo(3L);
+        assertThat(result.followersCount()).isEqualTo(2L);
+    }
+
+    private void assertSingleFollowStatusQuery() {
+        verify(followRepository, times(1)).findFollowingIdsByFollowerAndFollowingIdIn(eq(currentUser), anyCollection());
+        verify(followRepository, never()).findByFollowerAndFollowing(any(), any());
+    }
+
+    private static List<UserEntity> users(int size) {
+        return LongStream.rangeClosed(1, size).mapToObj(UserServiceTest::user).toList();
+    }
+
+    private static UserEntity user(long id) {
+        var userEntity = UserEntity.of("user" + id, "password");
+        ReflectionTestUtils.setField(userEntity, "id", id);
+        return userEntity;
+    }
+
+    private static LikedUserProjection likedUser(long likeId, long postId) {
+        var now = ZonedDateTime.now();
+        return new LikedUserProjection(likeId, postId, now.minusSeconds(likeId),
+                likeId, "user" + likeId, null, null, 0L, 0L, now, now);
+    }
+
+    private static PostEntity post(long id, UserEntity author) {
+        var postEntity = PostEntity.of("body" + id, author);
+        ReflectionTestUtils.setField(postEntity, "id", id);
+        return postEntity;
+    }
+}
@@ -0,0 +1,115 @@
+package com.fc_board.service;
+
+import com.fc_board.model.entity.PostEntity;
+import com.fc_board.repository.PostRepository;
+import com.fc_board.repository.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// virtual thread 에서 JDBC/Hikari 를 기다리는 동안 synchronized 로 carrier 를 고정(pin)하는 경로가 없는지 JFR 로 확인
+// 커넥션 풀을 작게 잡아 요청들이 Hikari 에서 대기(park)하게 만든다.
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+@ActiveProfiles("test")
+class VirtualThreadPinningTest {
+
+    private static final int TASK_COUNT = 200;
+
+    // H2 는 테스트용 내장 DB 라 자체 synchronized 로 인한 pin 은 운영 경로(Postgres)와 무관하다.
+    // 한계: 이 테스트는 H2 위에서만 돌기 때문에 pgjdbc 내부의 잠금은 검증하지 못한다. 애플리케이션 코드와 Hikari 경로만 본다.
+    private static final List<String> CHECKED_PACKAGES = List.of("com.fc_board.", "com.zaxxer.hikari.", "org.postgresql.");
+    private static final String EMBEDDED_DATABASE_PACKAGE = "org.h2.";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeCounterBuffer likeCounterBuffer;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    void jdbcPathsDoNotPinCarrierThreads() throws Exception {
+        var username = "pinning-user";
+        userService.signUp(username, "password");
+        var userEntity = userRepository.findByUsername(username).orElseThrow();
+        var post = postRepository.save(PostEntity.of("pinning post", userEntity));
+
+        var pinnedEvents = new CopyOnWriteArrayList<RecordedEvent>();
+        try (var recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recording.startAsync();
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var futures = new ArrayList<Future<?>>();
+                for (int i = 0; i < TASK_COUNT; i++) {
+                    futures.add(executor.submit(() -> {
+                        principalCache.evict(username);
+                        userService.loadUserByUsername(username);
+                        postService.getPosts(null, 20, userEntity);
+                        likeCounterBuffer.add(post.getId(), 1);
+                        likeCounterBuffer.flush();
+                    }));
+                }
+                for (var future : futures) {
+                    future.get();
+                }
+            }
+
+            recording.stop();
+        }
+
+        assertThat(pinnedEvents.stream().filter(VirtualThreadPinningTest::isApplicationPin).map(VirtualThreadPinningTest::describe))
+                .isEmpty();
+    }
+
+    private static boolean isApplicationPin(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return false;
+        }
+
+        var frames = stackTrace.getFrames().stream().map(VirtualThreadPinningTest::typeName).toList();
+        return frames.stream().noneMatch(frame -> frame.startsWith(EMBEDDED_DATABASE_PACKAGE))
+                && frames.stream().anyMatch(frame -> CHECKED_PACKAGES.stream().anyMatch(frame::startsWith));
+    }
+
+    private static String describe(RecordedEvent event) {
+        var builder = new StringBuilder("pinned for ").append(event.getDuration().toMillis()).append("ms");
+        for (var frame : event.getStackTrace().getFrames()) {
+            builder.append("\n\tat ").append(typeName(frame)).append('.').append(frame.getMethod().getName());
+        }
+        return builder.toString();
+    }
+
+    private static String typeName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName();
+    }
+}